@@ -0,0 +1,80 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 content 압축 저장(CompressedContentConverter)의 쓰기/읽기 비용과 저장 크기.
+ * 말뭉치는 문단 + 코드 블록이 섞인 기술 글을 흉내내어 생성한다. (seed 고정)
+ * 저장 크기는 Trial 시작 시 "storage" 줄로 출력한다. (원문 UTF-8 바이트 대비 저장 값 바이트)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentCompressionBenchmark {
+
+    private static final String[] WORDS = {
+            "스프링", "트랜잭션", "영속성", "컨텍스트", "쿼리", "인덱스", "캐시", "the", "request", "response",
+            "Kafka", "consumer", "offset", "JPA", "엔티티", "지연로딩", "batch", "latency", "throughput", "성능"
+    };
+    private static final String[] CODE_LINES = {
+            "    @Transactional(readOnly = true)",
+            "    public List<BlogPostDto> getAllBlogPosts(Long userId, Pageable pageable) {",
+            "        return blogPostRepository.findAllByUserId(userId, pageable).map(BlogPostDto::new);",
+            "    }",
+            "SELECT b.id, b.title FROM blog_post b WHERE b.user_id = ? ORDER BY b.id DESC LIMIT 10;",
+            "        kafkaTemplate.send(\"blog_events\", key, payload);"
+    };
+
+    @Param({"512", "4096", "32768"})
+    public int contentLength;
+
+    private final CompressedContentConverter converter = new CompressedContentConverter();
+    private String content;
+    private String stored;
+
+    @Setup(Level.Trial)
+    public void generateCorpus() {
+        content = generate(new Random(contentLength), contentLength);
+        stored = converter.convertToDatabaseColumn(content);
+        int plainBytes = content.getBytes(StandardCharsets.UTF_8).length;
+        int storedBytes = stored.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("storage contentLength=%d plainBytes=%d storedBytes=%d ratio=%.2f%n",
+                contentLength, plainBytes, storedBytes, (double) storedBytes / plainBytes);
+    }
+
+    @Benchmark
+    public String write() {
+        return converter.convertToDatabaseColumn(content);
+    }
+
+    @Benchmark
+    public String read() {
+        return converter.convertToEntityAttribute(stored);
+    }
+
+    private static String generate(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length + 128);
+        while (builder.length() < length) {
+            if (random.nextInt(3) == 0) {
+                builder.append("```java\n");
+                for (int i = 0, lines = 2 + random.nextInt(6); i < lines; i++) {
+                    builder.append(CODE_LINES[random.nextInt(CODE_LINES.length)]).append('\n');
+                }
+                builder.append("```\n");
+            } else {
+                for (int i = 0, words = 10 + random.nextInt(30); i < words; i++) {
+                    builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                builder.append("\n\n");
+            }
+        }
+        return builder.substring(0, length);
+    }
+}
@@ -0,0 +1,127 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helloworldweb.helloworld_guestbook.domain.*;
+import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
+import com.helloworldweb.helloworld_guestbook.model.HttpResponseMsg;
+import com.helloworldweb.helloworld_guestbook.model.HttpStatusCode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 API 응답 한건을 만드는 비용. 엔티티 그래프는 DB 없이 메모리에서 만든다.
+ * blogPostDto / guestBookDto - 엔티티 -> DTO 그래프 변환 (BlogPostDto(BlogPost, List<PostComment>), GuestBookDto(GuestBook, List<GuestBookComment>))
+ * serializeBlogPost / serializeGuestBook - 만들어 둔 DTO 를 ApiResponse 로 감싸 Jackson 직렬화 (MVC 의 MappingJackson2HttpMessageConverter 와 같은 ObjectMapper 설정)
+ * blogPostResponse - 변환 + 직렬화
+ * comments 는 게시글의 댓글 수(댓글마다 대댓글 1개) / 방명록 댓글 수
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoGraphBenchmark {
+
+    @Param({"10", "100"})
+    public int comments;
+
+    private ObjectMapper objectMapper;
+    private BlogPost blogPost;
+    private List<PostComment> postComments;
+    private GuestBook guestBook;
+    private List<GuestBookComment> guestBookComments;
+    private BlogPostDto blogPostDto;
+    private GuestBookDto guestBookDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User writer = user(1L);
+        blogPost = BlogPost.builder()
+                .id(1L)
+                .title("제목")
+                .content("내용 ".repeat(500))
+                .tags("java,spring")
+                .searchCount(0L)
+                .views(0L)
+                .build();
+        blogPost.updateUser(writer);
+        audit(blogPost);
+        postComments = new ArrayList<>();
+        for (long i = 0; i < comments; i++) {
+            PostComment postComment = PostComment.builder().id(i).build();
+            postComment.updateBlogPost(blogPost);
+            PostSubComment postSubComment = PostSubComment.builder().id(i).content("댓글 " + i).user(user(100L + i)).build();
+            postSubComment.updatePostComment(postComment);
+            audit(postSubComment);
+            postComments.add(postComment);
+        }
+
+        guestBook = GuestBook.builder().id(1L).user(writer).build();
+        guestBookComments = new ArrayList<>();
+        for (long i = 0; i < comments; i++) {
+            GuestBookComment guestBookComment = GuestBookComment.builder()
+                    .id(i)
+                    .content("방명록 " + i)
+                    .reply(i % 2 == 0 ? "답글" : null)
+                    .user(user(100L + i))
+                    .build();
+            guestBookComment.updateGuestBook(guestBook);
+            audit(guestBookComment);
+            guestBookComments.add(guestBookComment);
+        }
+
+        blogPostDto = new BlogPostDto(blogPost, postComments);
+        guestBookDto = new GuestBookDto(guestBook, guestBookComments, 0L);
+    }
+
+    @Benchmark
+    public BlogPostDto blogPostDto() {
+        return new BlogPostDto(blogPost, postComments);
+    }
+
+    @Benchmark
+    public GuestBookDto guestBookDto() {
+        return new GuestBookDto(guestBook, guestBookComments, 0L);
+    }
+
+    @Benchmark
+    public byte[] serializeBlogPost() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.response(HttpStatusCode.GET_SUCCESS, HttpResponseMsg.GET_SUCCESS, blogPostDto));
+    }
+
+    @Benchmark
+    public byte[] serializeGuestBook() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.response(HttpStatusCode.GET_SUCCESS, HttpResponseMsg.GET_SUCCESS, guestBookDto));
+    }
+
+    @Benchmark
+    public byte[] blogPostResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.response(HttpStatusCode.GET_SUCCESS, HttpResponseMsg.GET_SUCCESS, new BlogPostDto(blogPost, postComments)));
+    }
+
+    private static User user(Long id) {
+        return User.builder()
+                .id(id)
+                .email(id + "@email.com")
+                .nickName("nick" + id)
+                .profileUrl("https://profile/" + id)
+                .repoUrl("https://github.com/" + id)
+                .build();
+    }
+
+    // 영속화하지 않은 엔티티에는 auditing 시각이 없으므로 직접 채워 직렬화 비용에 포함시킨다.
+    private static void audit(BaseEntity entity) {
+        LocalDateTime now = LocalDateTime.now();
+        ReflectionTestUtils.setField(entity, "createdTime", now);
+        ReflectionTestUtils.setField(entity, "modifiedTime", now);
+    }
+}
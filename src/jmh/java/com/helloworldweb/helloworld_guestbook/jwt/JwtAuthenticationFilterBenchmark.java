@@ -0,0 +1,84 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import com.helloworldweb.helloworld_guestbook.domain.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 JwtAuthenticationFilter 비용. (-prof gc 의 gc.alloc.rate.norm 으로 요청당 allocation 비교)
+ * cachedFilter - 같은 Auth 쿠키로 반복 요청 (검증된 토큰 캐시 hit)
+ * legacyVerification - 기존 방식: validateTokenWithDate + getUserId 로 토큰을 두번 파싱/서명검증하고 User 엔티티를 principal 로 생성
+ * cachedPrincipal / legacyPrincipal - 쿠키, 서블릿 객체를 제외한 인증 객체 생성 비용만 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenService jwtTokenService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService(SECRET, 10000);
+        jwtTokenService.init();
+        filter = new JwtAuthenticationFilter(jwtTokenService);
+        token = jwtTokenService.createToken("1024");
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Authentication cachedFilter() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("Auth", token));
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication legacyVerification() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("Auth", token));
+        if (jwtTokenService.validateTokenWithDate(request.getCookies()[0].getValue())) {
+            SecurityContextHolder.getContext().setAuthentication(legacyAuthentication(jwtTokenService.getUserId(token)));
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication cachedPrincipal() {
+        return jwtTokenService.authenticate(token);
+    }
+
+    @Benchmark
+    public Authentication legacyPrincipal() {
+        return legacyAuthentication("1024");
+    }
+
+    // 기존 JwtUserDetailsService.loadUserByUsername + UsernamePasswordAuthenticationToken
+    private static Authentication legacyAuthentication(String userId) {
+        User user = User.builder().id(Long.valueOf(userId)).build();
+        return new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
+    }
+}
@@ -0,0 +1,68 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenService 의 토큰 검증 메소드별 비용. (쿠키 파싱을 포함한 요청당 비용은 JwtAuthenticationFilterBenchmark)
+ * validateTokenWithDate, verifyToken, getUserId, getAuthentication - 매번 서명 검증 + claims 파싱 (verifyToken 은 claims 출력 비용 포함)
+ * authenticate - 검증된 토큰 캐시 hit
+ * invalidSignature - 서명이 틀린 토큰 (예외 생성 비용 포함)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+
+    private JwtTokenService jwtTokenService;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService(SECRET, 10000);
+        jwtTokenService.init();
+        token = jwtTokenService.createToken("1024");
+        // 서명 중간 글자를 바꾼다. (마지막 글자는 padding 비트만 바뀔 수 있다)
+        int at = token.length() - 10;
+        tamperedToken = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+        jwtTokenService.authenticate(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenWithDate() {
+        return jwtTokenService.validateTokenWithDate(token);
+    }
+
+    @Benchmark
+    public boolean verifyToken() {
+        return jwtTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String getUserId() {
+        return jwtTokenService.getUserId(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtTokenService.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return jwtTokenService.authenticate(token);
+    }
+
+    @Benchmark
+    public boolean invalidSignature() {
+        return jwtTokenService.validateTokenWithDate(tamperedToken);
+    }
+}
@@ -0,0 +1,79 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 Consumer 파싱(JsonParser 로 메시지당 2~3회 트리 파싱)과 UserServerMessage 단일 streaming 파싱 비교.
+ * 두 경우 모두 byte[] 에서 시작한다. (기존 방식은 StringDeserializer 비용 포함)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServerMessageBenchmark {
+
+    @Param({"register", "delete"})
+    public String operation;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        String json = operation.equals("delete")
+                ? "{\"operation\":\"delete\",\"Id\":1024}"
+                : "{\"operation\":\"" + operation + "\",\"id\":1024,\"email\":\"email@email.com\",\"socialAccountId\":\"1234567890\","
+                + "\"nickName\":\"babo\",\"profileUrl\":\"http://123.com/profile.png\",\"repoUrl\":\"https://github.com/duddn520\","
+                + "\"profileMusicName\":\"OvertheHorizen.mp3\",\"profileMusicUrl\":\"https://s3.com/music.mp3\",\"fcm\":\"@!#!@#ASDZCXASD!@#\"}";
+        payload = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object legacyJsonParser() {
+        String dtoString = new String(payload, StandardCharsets.UTF_8);
+        String op = legacyObject(dtoString).get("operation").getAsString();
+        if (op.equals("delete")) {
+            return legacyObject(dtoString).get("Id").getAsLong();
+        }
+        return legacyUserDto(dtoString);
+    }
+
+    @Benchmark
+    public Object streamingDecode() throws IOException {
+        UserServerMessage message = UserServerMessage.decode(payload);
+        if (message.getOperation().equals("delete")) {
+            return message.getId();
+        }
+        return message.toUserDto();
+    }
+
+    private static JsonObject legacyObject(String jsonString) {
+        JsonParser jsonParser = new JsonParser();
+        JsonElement element = jsonParser.parse(jsonString);
+        return element.getAsJsonObject();
+    }
+
+    private static UserDto legacyUserDto(String jsonString) {
+        JsonObject object = legacyObject(jsonString);
+        return UserDto.builder()
+                .id(object.get("id").getAsLong())
+                .email(object.has("email") ? object.get("email").getAsString() : null)
+                .socialAccountId(object.has("socialAccountId") ? object.get("socialAccountId").getAsString() : null)
+                .nickName(object.has("nickName") ? object.get("nickName").getAsString() : null)
+                .profileUrl(object.has("profileUrl") ? object.get("profileUrl").getAsString() : null)
+                .repoUrl(object.has("repoUrl") ? object.get("repoUrl").getAsString() : null)
+                .profileMusicName(object.has("profileMusicName") ? object.get("profileMusicName").getAsString() : null)
+                .profileMusicUrl(object.has("profileMusicUrl") ? object.get("profileMusicUrl").getAsString() : null)
+                .fcm(object.has("fcm") ? object.get("fcm").getAsString() : null)
+                .build();
+    }
+}
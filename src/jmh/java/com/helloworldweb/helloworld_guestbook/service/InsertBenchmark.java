@@ -0,0 +1,112 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2(in-memory) 위에서 Spring 컨텍스트를 띄워 insert 경로 처리량 측정.
+ * jdbcBatchSize=0 은 JDBC batch 끔, 50 은 application.properties 와 같은 설정.
+ * id 생성 방식(공유 hibernate_sequence vs 엔티티별 pooled-lo) 비교는 이전 커밋에서 같은 벤치마크를 돌려 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int USERS_PER_REGISTRATION = 100;
+
+    @Param({"0", "50"})
+    public String jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private BlogPostService blogPostService;
+    private GuestBookService guestBookService;
+    private PostSubCommentService postSubCommentService;
+
+    private long nextUserId = 1_000_000L;
+    private Long writerId;
+    private Long ownerId;
+    private Long blogPostId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "jwt.secret=aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=",
+                        "spring.kafka.listener.auto-startup=false",
+                        "outbox.relay.poll-interval-ms=3600000",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        blogPostService = context.getBean(BlogPostService.class);
+        guestBookService = context.getBean(GuestBookService.class);
+        postSubCommentService = context.getBean(PostSubCommentService.class);
+    }
+
+    // 방명록 조회 결과가 댓글 수에 비례하므로 iteration 마다 새 방명록 주인, 게시글을 만든다.
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        writerId = registerUser();
+        ownerId = registerUser();
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(writerId, Long.MAX_VALUE)));
+        blogPostId = blogPostService.addBlogPost(BlogPostDto.builder()
+                .title("title")
+                .content("content")
+                .tags("tags")
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public PostSubCommentDto createPostSubComment() {
+        return postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("subcomment").build());
+    }
+
+    @Benchmark
+    public Object addGuestBookComment() {
+        return guestBookService.addGuestBookComment(ownerId, GuestBookCommentDto.builder().content("content").reply("reply").build());
+    }
+
+    // user_server register 메시지 100건 반영 (Consumer 와 같이 메시지마다 upsertUser 트랜잭션)
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_REGISTRATION)
+    public long bulkUserRegistration() {
+        long last = 0;
+        for (int i = 0; i < USERS_PER_REGISTRATION; i++) {
+            last = registerUser();
+        }
+        return last;
+    }
+
+    private long registerUser() {
+        long userId = nextUserId++;
+        userService.upsertUser(UserDto.builder().id(userId).email(userId + "@email.com").build(), 1L);
+        return userId;
+    }
+}
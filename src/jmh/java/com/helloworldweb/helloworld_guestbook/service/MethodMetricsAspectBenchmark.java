@@ -0,0 +1,80 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.config.MethodMetricsAspect;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MethodMetricsAspect 가 service 메소드 호출마다 더하는 비용. (Prometheus registry 기준, -prof gc 로 호출당 allocation 도 확인)
+ * proxyOnly - aspect 없는 Spring AOP proxy (기준선)
+ * disabled - metrics.methods.enabled=false
+ * sampled - sample-rate 0.01, 호출/에러 수만 세는 호출이 대부분
+ * timed - sample-rate 1.0, 모든 호출의 지연시간 기록
+ * contendedTimed - 같은 meter 에 8 스레드가 동시에 기록 (lock 이 없으므로 스레드당 비용이 크게 늘지 않아야 한다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodMetricsAspectBenchmark {
+
+    // 포인트컷(service 패키지)에 걸리도록 이 패키지에 둔다.
+    public static class Target {
+        public long work(long value) {
+            return value * 31 + 7;
+        }
+    }
+
+    private Target proxyOnly;
+    private Target disabled;
+    private Target sampled;
+    private Target timed;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        proxyOnly = new AspectJProxyFactory(new Target()).getProxy();
+        disabled = proxy(false, 1.0);
+        sampled = proxy(true, 0.01);
+        timed = proxy(true, 1.0);
+    }
+
+    @Benchmark
+    public long proxyOnly() {
+        return proxyOnly.work(value++);
+    }
+
+    @Benchmark
+    public long disabled() {
+        return disabled.work(value++);
+    }
+
+    @Benchmark
+    public long sampled() {
+        return sampled.work(value++);
+    }
+
+    @Benchmark
+    public long timed() {
+        return timed.work(value++);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long contendedTimed() {
+        return timed.work(31);
+    }
+
+    private static Target proxy(boolean enabled, double sampleRate) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Target());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MethodMetricsAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), enabled, sampleRate));
+        return factory.getProxy();
+    }
+}
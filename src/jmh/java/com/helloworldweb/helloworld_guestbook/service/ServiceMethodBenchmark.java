@@ -0,0 +1,278 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.dto.*;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2(in-memory) 위에서 Spring 컨텍스트를 띄워 service 메소드 하나씩 호출하는 end-to-end 비용. (트랜잭션, 2차 캐시, outbox 포함)
+ * 조회 메소드는 댓글 COMMENTS 개가 달린 게시글/방명록을 읽고, 추가/수정 메소드는 iteration 마다 새로 만든 게시글/방명록에 쓴다.
+ * 삭제 메소드는 호출마다 지울 대상을 미리 만든다(Victim, 측정에서 제외).
+ * 처리량 위주의 insert 비교는 InsertBenchmark, 이력이 많은 유저 삭제는 UserDeleteBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceMethodBenchmark {
+
+    private static final int COMMENTS = 20;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private BlogPostService blogPostService;
+    private GuestBookService guestBookService;
+    private PostSubCommentService postSubCommentService;
+
+    private long nextUserId = 2_000_000L;
+    private Long writerId;
+
+    // 조회 대상. readerId 가 쓴 게시글, 댓글, 방명록 댓글만 있고 측정 중 바뀌지 않는다.
+    private Long readerId;
+    private Long readBlogPostId;
+    private Long readPostSubCommentId;
+    private Long readOwnerId;
+
+    // 추가/수정 대상 (iteration 마다 새로 만든다)
+    private Long writeBlogPostId;
+    private Long writePostCommentId;
+    private Long writePostSubCommentId;
+    private Long writeOwnerId;
+    private Long writeGuestBookCommentId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:service-method-benchmark;DB_CLOSE_DELAY=-1",
+                        "jwt.secret=aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=",
+                        "spring.kafka.listener.auto-startup=false",
+                        "outbox.relay.poll-interval-ms=3600000",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        blogPostService = context.getBean(BlogPostService.class);
+        guestBookService = context.getBean(GuestBookService.class);
+        postSubCommentService = context.getBean(PostSubCommentService.class);
+
+        writerId = registerUser();
+        readerId = registerUser();
+        as(readerId);
+        readBlogPostId = newBlogPost();
+        readOwnerId = registerUser();
+        for (int i = 0; i < COMMENTS; i++) {
+            readPostSubCommentId = postSubCommentService.createPostSubComment(readBlogPostId, PostSubCommentDto.builder().content("댓글 " + i).build()).getId();
+            guestBookService.addGuestBookComment(readOwnerId, GuestBookCommentDto.builder().content("방명록 " + i).build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration() {
+        as(writerId);
+        writeBlogPostId = newBlogPost();
+        PostSubCommentDto postSubComment = postSubCommentService.createPostSubComment(writeBlogPostId, PostSubCommentDto.builder().content("댓글").build());
+        writePostCommentId = postSubComment.getPostCommentId();
+        writePostSubCommentId = postSubComment.getId();
+        writeOwnerId = registerUser();
+        GuestBookDto guestBook = guestBookService.addGuestBookComment(writeOwnerId, GuestBookCommentDto.builder().content("방명록").build());
+        writeGuestBookCommentId = guestBook.getGuestBookCommentDtos().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    // 호출마다 지울 게시글, 댓글, 방명록 댓글, 유저를 하나씩 만든다.
+    @State(Scope.Thread)
+    public static class Victim {
+        Long blogPostId;
+        Long postSubCommentId;
+        Long guestBookCommentId;
+        Long userId;
+
+        @Setup(Level.Invocation)
+        public void create(ServiceMethodBenchmark benchmark) {
+            benchmark.as(benchmark.writerId);
+            blogPostId = benchmark.newBlogPost();
+            postSubCommentId = benchmark.postSubCommentService.createPostSubComment(benchmark.writeBlogPostId, PostSubCommentDto.builder().content("삭제할 댓글").build()).getId();
+            // 방명록 댓글은 새 방명록에 달아 방명록 크기가 삭제 비용에 섞이지 않게 한다.
+            GuestBookDto guestBook = benchmark.guestBookService.addGuestBookComment(benchmark.registerUser(), GuestBookCommentDto.builder().content("삭제할 방명록").build());
+            guestBookCommentId = guestBook.getGuestBookCommentDtos().get(0).getId();
+            userId = benchmark.registerUser();
+        }
+    }
+
+    // BlogPostService
+
+    @Benchmark
+    public BlogPostDto addBlogPost() {
+        return blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용").tags("tags").build());
+    }
+
+    @Benchmark
+    public BlogPostDto getBlogPost() {
+        return blogPostService.getBlogPost(readBlogPostId);
+    }
+
+    @Benchmark
+    public Optional<RevisionDto> getBlogPostRevision() {
+        return blogPostService.getRevision(readBlogPostId);
+    }
+
+    @Benchmark
+    public List<BlogPostDto> getAllBlogPosts() {
+        return blogPostService.getAllBlogPosts(readerId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public int getTotalPages() {
+        return blogPostService.getTotalPages(readerId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public BlogPostDto updateBlogPost() {
+        return blogPostService.updateBlogPost(BlogPostDto.builder()
+                .id(writeBlogPostId)
+                .title("수정된 제목")
+                .content("수정된 내용")
+                .tags("tags")
+                .searchCount(0L)
+                .views(0L)
+                .build());
+    }
+
+    @Benchmark
+    public Long deleteBlogPost(Victim victim) {
+        blogPostService.deleteBlogPost(victim.blogPostId);
+        return victim.blogPostId;
+    }
+
+    // PostSubCommentService
+
+    @Benchmark
+    public PostSubCommentDto createPostSubComment() {
+        return postSubCommentService.createPostSubComment(writeBlogPostId, PostSubCommentDto.builder().content("댓글").build());
+    }
+
+    @Benchmark
+    public PostSubCommentDto addPostSubComment() {
+        return postSubCommentService.addPostSubComment(PostSubCommentDto.builder().postCommentId(writePostCommentId).content("대댓글").build());
+    }
+
+    @Benchmark
+    public PostSubCommentDto getPostSubComment() {
+        return postSubCommentService.getPostSubComment(readPostSubCommentId);
+    }
+
+    @Benchmark
+    public Optional<RevisionDto> getPostSubCommentRevision() {
+        return postSubCommentService.getRevision(readPostSubCommentId);
+    }
+
+    @Benchmark
+    public List<PostSubCommentDto> getAllSubCommentsByUserId() {
+        return postSubCommentService.getAllSubCommentsByUserId(readerId);
+    }
+
+    @Benchmark
+    public PostSubCommentDto updatePostSubComment() {
+        return postSubCommentService.updatePostSubComment(PostSubCommentDto.builder().id(writePostSubCommentId).content("수정된 댓글").build());
+    }
+
+    @Benchmark
+    public Long deletePostSubComment(Victim victim) {
+        postSubCommentService.deletePostSubComment(victim.postSubCommentId);
+        return victim.postSubCommentId;
+    }
+
+    // GuestBookService
+
+    @Benchmark
+    public GuestBookDto addGuestBookComment() {
+        return guestBookService.addGuestBookComment(writeOwnerId, GuestBookCommentDto.builder().content("방명록").build());
+    }
+
+    @Benchmark
+    public GuestBookDto getGuestBook() {
+        return guestBookService.getGuestBook(readOwnerId);
+    }
+
+    @Benchmark
+    public Optional<RevisionDto> getGuestBookRevision() {
+        return guestBookService.getRevision(readOwnerId);
+    }
+
+    @Benchmark
+    public GuestBookCommentPageDto getGuestBookComments() {
+        return guestBookService.getGuestBookComments(readOwnerId, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public GuestBookCommentDto updateGuestBookComment() {
+        return guestBookService.updateGuestBookComment(GuestBookCommentDto.builder().id(writeGuestBookCommentId).reply("답글").build());
+    }
+
+    @Benchmark
+    public Long deleteGuestBookComment(Victim victim) {
+        guestBookService.deleteGuestBookComment(victim.guestBookCommentId);
+        return victim.guestBookCommentId;
+    }
+
+    // UserService
+
+    @Benchmark
+    public UserDto addUser() {
+        long userId = nextUserId++;
+        return userService.addUser(UserDto.builder().id(userId).email(userId + "@email.com").build());
+    }
+
+    @Benchmark
+    public UserDto updateUser() {
+        return userService.updateUser(UserDto.builder().id(writerId).email(writerId + "@email.com").nickName("nick").build());
+    }
+
+    @Benchmark
+    public long upsertUser() {
+        return registerUser();
+    }
+
+    @Benchmark
+    public Long deleteUser(Victim victim) {
+        userService.deleteUser(victim.userId);
+        return victim.userId;
+    }
+
+    private Long newBlogPost() {
+        return blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용 ".repeat(200)).tags("tags").build()).getId();
+    }
+
+    private long registerUser() {
+        long userId = nextUserId++;
+        userService.upsertUser(UserDto.builder().id(userId).email(userId + "@email.com").build(), 1L);
+        return userId;
+    }
+
+    private void as(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글/댓글 수(historySize)에 따른 유저 삭제 시간.
+ * cascade 는 기존 방식(userRepository.delete, 엔티티 단위 cascade), bulk 는 단일 트랜잭션 bulk delete,
+ * chunked 는 user.delete.chunk-size=100 으로 게시글을 나눠 지우는 방식.
+ * 유저마다 게시글 historySize 개(각 대댓글 1개), 방명록 댓글 historySize 개를 만든 뒤 한번 지운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserDeleteBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int historySize;
+
+    @Param({"cascade", "bulk", "chunked"})
+    public String deleteMode;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private BlogPostService blogPostService;
+    private GuestBookService guestBookService;
+    private PostSubCommentService postSubCommentService;
+    private TransactionTemplate transactionTemplate;
+
+    private long nextUserId = 2_000_000L;
+    private Long visitorId;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:user-delete-benchmark;DB_CLOSE_DELAY=-1",
+                        "user.delete.chunk-size=" + ("chunked".equals(deleteMode) ? 100 : 0),
+                        "jwt.secret=aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=",
+                        "spring.kafka.listener.auto-startup=false",
+                        "outbox.relay.poll-interval-ms=3600000",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        blogPostService = context.getBean(BlogPostService.class);
+        guestBookService = context.getBean(GuestBookService.class);
+        postSubCommentService = context.getBean(PostSubCommentService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        visitorId = registerUser();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareHistory() {
+        userId = registerUser();
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+        for (int i = 0; i < historySize; i++) {
+            Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder()
+                    .title("title")
+                    .content("content")
+                    .tags("tags")
+                    .build()).getId();
+            postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("subcomment").build());
+        }
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(visitorId, Long.MAX_VALUE)));
+        for (int i = 0; i < historySize; i++) {
+            guestBookService.addGuestBookComment(userId, GuestBookCommentDto.builder().content("content").build());
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deleteUser() {
+        if ("cascade".equals(deleteMode)) {
+            transactionTemplate.executeWithoutResult((status) -> userRepository.delete(userRepository.findById(userId).get()));
+        } else {
+            userService.deleteUser(userId, null);
+        }
+    }
+
+    private long registerUser() {
+        long id = nextUserId++;
+        userService.upsertUser(UserDto.builder().id(id).email(id + "@email.com").build(), 1L);
+        return id;
+    }
+}
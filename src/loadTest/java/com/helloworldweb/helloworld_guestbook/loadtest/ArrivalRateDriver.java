@@ -0,0 +1,172 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open model 부하: 응답을 기다리지 않고 시나리오의 도착률대로 요청을 보낸다.
+ * closed model(LoadDriver) 은 서버가 느려지면 보내는 속도도 같이 줄지만, 여기서는 도착률이 그대로이므로 대기열이 쌓이는 만큼 지연시간에 드러난다.
+ * 지연시간은 실제 전송 시각이 아니라 예정된 도착 시각부터 잰다. (발송이 밀려도 coordinated omission 으로 지연이 가려지지 않는다)
+ * 동시 요청이 maxInFlight 를 넘으면 보내지 않고 dropped 에러로 센다.
+ */
+final class ArrivalRateDriver {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+
+    private ArrivalRateDriver() {
+    }
+
+    static Report drive(HttpClient client, Scenario scenario, int seconds, int maxInFlight) throws InterruptedException {
+        Report report = new Report(scenario.getName(), seconds);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intended = start;
+        while (intended < deadline) {
+            long now = System.nanoTime();
+            if (intended > now) {
+                LockSupport.parkNanos(intended - now);
+                continue;
+            }
+            Scenario.Call call = scenario.next();
+            EndpointStats stats = report.of(call.getLabel());
+            report.offered.increment();
+            if (inFlight.tryAcquire()) {
+                long scheduled = intended;
+                client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            long latency = System.nanoTime() - scheduled;
+                            if (error == null) {
+                                stats.record(latency, response.statusCode());
+                            } else {
+                                stats.failure(latency, cause(error));
+                            }
+                        });
+            } else {
+                stats.dropped();
+            }
+            intended += Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / scenario.perSecond(intended - start)));
+        }
+        // 보낸 요청이 모두 끝날 때까지 기다린다.
+        if (inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return report;
+    }
+
+    private static String cause(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    // 시나리오 한번의 endpoint 별 결과
+    static final class Report {
+        private final String scenario;
+        private final int seconds;
+        private final LongAdder offered = new LongAdder();
+        private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+        private Report(String scenario, int seconds) {
+            this.scenario = scenario;
+            this.seconds = seconds;
+        }
+
+        private EndpointStats of(String label) {
+            EndpointStats stats = endpoints.get(label);
+            return stats != null ? stats : endpoints.computeIfAbsent(label, (key) -> new EndpointStats());
+        }
+
+        List<String> summary() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("[%s] offered=%.1f req/s duration=%ds", scenario, offered.sum() / (double) seconds, seconds));
+            EndpointStats total = new EndpointStats();
+            for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+                lines.add(entry.getValue().summary(entry.getKey(), seconds));
+                total.merge(entry.getValue());
+            }
+            lines.add(total.summary("total", seconds));
+            return lines;
+        }
+
+        // endpoint 별 HdrHistogram 분포(.hgrm, ms 단위)를 dir 에 남긴다. HdrHistogram plotter 로 시나리오끼리 겹쳐 볼 수 있다.
+        void writeHistograms(Path dir) throws IOException {
+            Files.createDirectories(dir);
+            for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+                String fileName = (scenario + "-" + entry.getKey()).replaceAll("[^A-Za-z0-9._-]+", "_") + ".hgrm";
+                try (PrintStream output = new PrintStream(dir.resolve(fileName).toFile())) {
+                    entry.getValue().latencies.outputPercentileDistribution(output, 1_000_000.0);
+                }
+            }
+        }
+    }
+
+    // 2xx, 3xx(304) 는 성공, 나머지 상태코드와 timeout, 연결 실패, dropped 는 원인별 에러
+    static final class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder successes = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private void record(long nanos, int status) {
+            latencies.recordValue(nanos);
+            if (status < 400) {
+                successes.increment();
+            } else {
+                error(String.valueOf(status));
+            }
+        }
+
+        private void failure(long nanos, String cause) {
+            latencies.recordValue(nanos);
+            error(cause);
+        }
+
+        private void dropped() {
+            error("dropped");
+        }
+
+        private void error(String cause) {
+            errors.computeIfAbsent(cause, (key) -> new LongAdder()).increment();
+        }
+
+        private void merge(EndpointStats other) {
+            latencies.add(other.latencies);
+            successes.add(other.successes.sum());
+            other.errors.forEach((cause, count) -> errors.computeIfAbsent(cause, (key) -> new LongAdder()).add(count.sum()));
+        }
+
+        private String summary(String label, int seconds) {
+            long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+            long requests = successes.sum() + errorCount;
+            return String.format("  %-32s requests=%d throughput=%.1f req/s errors=%d (%.2f%%)%s p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms",
+                    label, requests, successes.sum() / (double) seconds, errorCount,
+                    requests == 0 ? 0.0 : errorCount * 100.0 / requests,
+                    errors.isEmpty() ? "" : " " + new TreeMap<>(errors),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
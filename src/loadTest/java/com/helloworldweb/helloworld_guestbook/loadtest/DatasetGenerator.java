@@ -0,0 +1,326 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.domain.CompressedContentConverter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크, 실행계획 확인용 대용량 데이터셋을 만든다. 스키마는 애플리케이션을 ddl-auto=create 로 띄워 엔티티와 같게 만들고,
+ * 행은 JPA 를 거치지 않고 JDBC batch insert 로 넣는다.
+ *  - 게시글 작성자, 댓글 작성자, 방명록 댓글 작성자 : 유저 순위에 대한 Zipf (게시글 수천개인 유저가 생긴다)
+ *  - 게시글별 댓글(PostComment) 수, 댓글별 대댓글(PostSubComment) 수, 방명록별 댓글 수 : 대상 순위에 대한 Zipf (댓글 수만개인 방명록, 대댓글이 긴 댓글)
+ *  - 게시글/댓글 길이 : Zipf (대부분 짧고 일부가 길다). 게시글 본문은 CompressedContentConverter 로 저장 형식을 맞춘다.
+ *  - 생성 시각은 id 순으로 dataset.history-days 에 걸쳐 증가한다. (오래된 방명록 댓글은 GuestBookCommentArchiver 대상이 된다)
+ * 순위 -> id 는 seed 로 섞은 순열이라 인기 대상이 앞쪽 id 에 몰리지 않는다. chunk 마다 (seed, 테이블, chunk) 로 Random 을 만들어 스레드 수와 관계없이 같은 데이터가 나온다.
+ * 적재가 끝나면 엔티티별 sequence 를 최대 id + 1 로 맞추므로(pooled-lo 기준) 적재한 DB 에 애플리케이션을 그대로 띄워 쓸 수 있다.
+ * H2 전용이다. "USER" 따옴표 식별자, ALTER SEQUENCE ... RESTART WITH, SET REFERENTIAL_INTEGRITY, ANALYZE, limit 을 H2 문법 그대로 쓰므로
+ * 다른 DB 에 붙이면 적재 전에 실패한다. (다른 DB 용으로 쓰려면 식별자 quoting, sequence 재설정, FK 검사 끄기를 DB 별로 바꿔야 한다)
+ *
+ * ./gradlew generateDataset -Ddataset.users=100000 -Ddataset.posts=1000000 -Ddataset.threads=8
+ * 사용: spring.datasource.url=jdbc:h2:file:./build/dataset/guestbook spring.jpa.hibernate.ddl-auto=none
+ */
+public class DatasetGenerator {
+
+    private static final int CHUNK_ROWS = 100_000;
+    private static final int POST_CONTENT_UNIT = 100;
+    private static final int COMMENT_CONTENT_UNIT = 5;
+    private static final int COMMENT_MAX_CHARS = 255;
+    private static final String[] WORDS = {
+            "spring", "jpa", "kafka", "java", "블로그", "방명록", "댓글", "개발", "성능", "테스트", "서버", "쿼리",
+            "index", "cache", "thread", "오늘", "정리", "배포", "hello", "world", "리뷰", "프로젝트", "코드", "버그"};
+    private static final CompressedContentConverter CONTENT_CONVERTER = new CompressedContentConverter();
+
+    private final DataSource dataSource;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final int users;
+    private final int posts;
+    private final int postComments;
+    private final long postSubComments;
+    private final long guestBookComments;
+    private final LocalDateTime historyStart;
+    private final Duration history;
+
+    private final ZipfSampler userRanks;
+    private final ZipfSampler postRanks;
+    private final ZipfSampler postCommentRanks;
+    private final ZipfSampler postContentSizes;
+    private final ZipfSampler commentContentSizes;
+    private final int[] userIds;
+    private final int[] postIds;
+    private final int[] postCommentIds;
+
+    private DatasetGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.seed = Long.getLong("dataset.seed", 42L);
+        this.threads = Integer.getInteger("dataset.threads", Runtime.getRuntime().availableProcessors());
+        this.batchSize = Integer.getInteger("dataset.batch-size", 1000);
+        this.users = Integer.getInteger("dataset.users", 100_000);
+        this.posts = Integer.getInteger("dataset.posts", 1_000_000);
+        this.postComments = Integer.getInteger("dataset.post-comments", 2_000_000);
+        this.postSubComments = Math.max(postComments, Long.getLong("dataset.post-sub-comments", 4_000_000L));
+        this.guestBookComments = Long.getLong("dataset.guestbook-comments", 2_000_000L);
+        this.history = Duration.ofDays(Integer.getInteger("dataset.history-days", 730));
+        this.historyStart = LocalDateTime.now().minus(history);
+
+        double exponent = Double.parseDouble(System.getProperty("dataset.zipf-exponent", "1.1"));
+        int postContentMax = Integer.getInteger("dataset.post-content-max-chars", 20_000);
+        this.userRanks = new ZipfSampler(users, exponent);
+        this.postRanks = new ZipfSampler(posts, exponent);
+        this.postCommentRanks = new ZipfSampler(postComments, exponent);
+        this.postContentSizes = new ZipfSampler(Math.max(1, postContentMax / POST_CONTENT_UNIT), exponent);
+        this.commentContentSizes = new ZipfSampler(COMMENT_MAX_CHARS / COMMENT_CONTENT_UNIT, exponent);
+        this.userIds = permutation(users, new Random(seed));
+        this.postIds = permutation(posts, new Random(seed + 1));
+        this.postCommentIds = permutation(postComments, new Random(seed + 2));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("dataset.url", "jdbc:h2:file:./build/dataset/guestbook");
+        int threads = Integer.getInteger("dataset.threads", Runtime.getRuntime().availableProcessors());
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.hikari.maximum-pool-size=" + (threads + 2),
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "jwt.secret=aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=",
+                        "spring.kafka.listener.auto-startup=false",
+                        "outbox.relay.poll-interval-ms=3600000",
+                        "blog-post.purge.interval-ms=3600000",
+                        "blog-post.recompress.interval-ms=3600000",
+                        "guestbook.archive.interval-ms=3600000",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            new DatasetGenerator(context.getBean(DataSource.class)).generate();
+            System.out.println("spring.datasource.url=" + url + " spring.jpa.hibernate.ddl-auto=none 로 적재한 데이터를 사용합니다.");
+        } finally {
+            context.close();
+        }
+    }
+
+    private void generate() throws Exception {
+        long start = System.nanoTime();
+        requireH2();
+        // 생성하는 행끼리는 FK 가 항상 맞으므로 적재 중에만 FK 검사를 끈다. (켤 때 기존 행은 다시 검사하지 않는다)
+        execute("SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                // 유저 id == 방명록 id
+                load(executor, "guest_book", "insert into guest_book (id, revision, revised_time) values (?, 0, ?)", users,
+                        (statement, id, random) -> {
+                            statement.setLong(1, id);
+                            statement.setTimestamp(2, createdTime(id, users));
+                        });
+                load(executor, "\"USER\"", "insert into \"USER\" (id, email, socail_account_id, profile_url, nick_name, repo_url, "
+                                + "profile_music_name, profile_music_url, fcm, guest_book_id, event_version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)", users,
+                        (statement, id, random) -> {
+                            statement.setLong(1, id);
+                            statement.setString(2, "user" + id + "@email.com");
+                            statement.setString(3, "social-" + id);
+                            statement.setString(4, "https://profile.example.com/" + id);
+                            statement.setString(5, "user" + id);
+                            statement.setString(6, "https://github.com/user" + id);
+                            statement.setString(7, null);
+                            statement.setString(8, null);
+                            statement.setString(9, null);
+                            statement.setLong(10, id);
+                        });
+                load(executor, "blog_post", "insert into blog_post (id, title, content, tags, search_count, views, deleted, revision, revised_time, "
+                                + "user_id, created_time, modified_time) values (?, ?, ?, ?, 0, ?, false, 0, ?, ?, ?, ?)", posts,
+                        (statement, id, random) -> {
+                            Timestamp created = createdTime(id, posts);
+                            statement.setLong(1, id);
+                            statement.setString(2, text(random, 10 + random.nextInt(40)));
+                            statement.setString(3, CONTENT_CONVERTER.convertToDatabaseColumn(text(random, postContentSizes.sample(random) * POST_CONTENT_UNIT)));
+                            statement.setString(4, WORDS[random.nextInt(WORDS.length)] + "," + WORDS[random.nextInt(WORDS.length)]);
+                            statement.setLong(5, postRanks.sample(random) - 1L);
+                            statement.setTimestamp(6, created);
+                            statement.setLong(7, userIds[userRanks.sample(random) - 1]);
+                            statement.setTimestamp(8, created);
+                            statement.setTimestamp(9, created);
+                        });
+                load(executor, "post_comment", "insert into post_comment (id, blogpost_id) values (?, ?)", postComments,
+                        (statement, id, random) -> {
+                            statement.setLong(1, id);
+                            statement.setLong(2, postIds[postRanks.sample(random) - 1]);
+                        });
+                // 앞쪽 postComments 개는 댓글마다 하나씩 (댓글은 첫 대댓글과 같이 만들어진다), 나머지는 Zipf 로 몰린다.
+                load(executor, "post_sub_comment", "insert into post_sub_comment (id, content, post_comment_id, user_id, created_time, modified_time) "
+                                + "values (?, ?, ?, ?, ?, ?)", postSubComments,
+                        (statement, id, random) -> {
+                            Timestamp created = createdTime(id, postSubComments);
+                            statement.setLong(1, id);
+                            statement.setString(2, commentText(random));
+                            statement.setLong(3, id <= postComments ? id : postCommentIds[postCommentRanks.sample(random) - 1]);
+                            statement.setLong(4, userIds[userRanks.sample(random) - 1]);
+                            statement.setTimestamp(5, created);
+                            statement.setTimestamp(6, created);
+                        });
+                load(executor, "guest_book_comment", "insert into guest_book_comment (id, content, reply, user_id, guest_book_id, created_time, modified_time) "
+                                + "values (?, ?, ?, ?, ?, ?, ?)", guestBookComments,
+                        (statement, id, random) -> {
+                            Timestamp created = createdTime(id, guestBookComments);
+                            statement.setLong(1, id);
+                            statement.setString(2, commentText(random));
+                            statement.setString(3, random.nextInt(10) < 3 ? commentText(random) : null);
+                            statement.setLong(4, userIds[userRanks.sample(random) - 1]);
+                            statement.setLong(5, userIds[userRanks.sample(random) - 1]);
+                            statement.setTimestamp(6, created);
+                            statement.setTimestamp(7, created);
+                        });
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+
+        restartSequence("guest_book_seq", users);
+        restartSequence("blog_post_seq", posts);
+        restartSequence("post_comment_seq", postComments);
+        restartSequence("post_sub_comment_seq", postSubComments);
+        restartSequence("guest_book_comment_seq", guestBookComments);
+        // 실행계획이 적재한 분포를 보도록 통계 갱신
+        execute("ANALYZE");
+        System.out.printf("%n적재 완료 %.1fs (seed=%d threads=%d)%n", (System.nanoTime() - start) / 1e9, seed, threads);
+        printShape();
+    }
+
+    interface RowWriter {
+        void write(PreparedStatement statement, long id, Random random) throws SQLException;
+    }
+
+    // id 1..rows 를 CHUNK_ROWS 단위로 나눠 스레드마다 자기 커넥션으로 batch insert, chunk 마다 commit
+    private void load(ExecutorService executor, String table, String sql, long rows, RowWriter writer) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (long from = 1; from <= rows; from += CHUNK_ROWS) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(rows, from + CHUNK_ROWS - 1);
+            Random random = new Random(Objects.hash(seed, table, chunkFrom));
+            futures.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        for (long id = chunkFrom; id <= chunkTo; id++) {
+                            writer.write(statement, id, random);
+                            statement.addBatch();
+                            if ((id - chunkFrom + 1) % batchSize == 0) {
+                                statement.executeBatch();
+                            }
+                        }
+                        statement.executeBatch();
+                    }
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-20s %,12d rows %8.1fs %,12.0f rows/s%n", table, rows, seconds, rows / seconds);
+    }
+
+    // pooled-lo 는 sequence 값을 다음 블록의 시작 id 로 쓰므로 최대 id + 1 부터 시작한다.
+    private void restartSequence(String sequence, long maxId) throws SQLException {
+        execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+    }
+
+    // 분포 확인: 가장 큰 대상 몇 개
+    private void printShape() throws SQLException {
+        printMax("게시글이 가장 많은 유저", "select user_id, count(*) c from blog_post group by user_id order by c desc limit 3");
+        printMax("댓글이 가장 많은 게시글", "select blogpost_id, count(*) c from post_comment group by blogpost_id order by c desc limit 3");
+        printMax("대댓글이 가장 많은 댓글", "select post_comment_id, count(*) c from post_sub_comment group by post_comment_id order by c desc limit 3");
+        printMax("댓글이 가장 많은 방명록", "select guest_book_id, count(*) c from guest_book_comment group by guest_book_id order by c desc limit 3");
+    }
+
+    private void printMax(String label, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            StringBuilder line = new StringBuilder(String.format("%-16s", label));
+            while (resultSet.next()) {
+                line.append(String.format(" id=%d(%,d)", resultSet.getLong(1), resultSet.getLong(2)));
+            }
+            System.out.println(line);
+        }
+    }
+
+    private Timestamp createdTime(long id, long rows) {
+        long offsetSeconds = (long) (history.getSeconds() * ((id - 1) / (double) rows));
+        return Timestamp.valueOf(historyStart.plusSeconds(offsetSeconds));
+    }
+
+    private String commentText(Random random) {
+        return text(random, Math.min(COMMENT_MAX_CHARS, commentContentSizes.sample(random) * COMMENT_CONTENT_UNIT));
+    }
+
+    // 실제 글처럼 압축되도록 단어를 이어 붙인다.
+    private static String text(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private void requireH2() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"H2".equals(product)) {
+                throw new IllegalStateException("DatasetGenerator 는 H2 에만 적재할 수 있습니다: " + product);
+            }
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * closed model 부하: concurrency 개의 클라이언트가 응답을 받자마자 다음 요청을 보낸다.
+ */
+final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    static Stats drive(Supplier<String> urls, int concurrency, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<Stats>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(clients.submit(() -> {
+                Stats stats = new Stats();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(urls.get()))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        stats.record(System.nanoTime() - start, response.statusCode() == 200);
+                    } catch (IOException e) {
+                        stats.record(System.nanoTime() - start, false);
+                    }
+                }
+                return stats;
+            }));
+        }
+        Stats total = new Stats();
+        for (Future<Stats> future : futures) {
+            total.merge(future.get());
+        }
+        clients.shutdown();
+        return total;
+    }
+
+    static class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        double percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        String summary(String label, int seconds) {
+            return String.format("%-24s throughput=%.1f req/s p50=%.1fms p99=%.1fms max=%.1fms errors=%d",
+                    label, count / (double) seconds, percentile(0.50), percentile(0.99), percentile(1.0), errors);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.service.BlogPostService;
+import com.helloworldweb.helloworld_guestbook.service.PostSubCommentService;
+import com.helloworldweb.helloworld_guestbook.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 같은 데이터에 대해 기존(MVC + JPA) 조회 API 와 reactive(R2DBC) 조회 API 를 동시 요청 수를 늘려가며 비교한다.
+ * Tomcat 스레드를 loadtest.tomcat-threads 로 제한해, 스레드 수보다 동시 요청이 많을 때 두 경로가 어떻게 버티는지 본다.
+ * r2dbc-h2 는 같은 JVM 의 H2 를 호출하므로 네트워크 드라이버(r2dbc-postgresql 등)보다 non-blocking 이득이 작게 나온다.
+ *
+ * ./gradlew reactiveLoadTest -Dloadtest.concurrency-levels=50,200,800 -Dloadtest.tomcat-threads=50 -Dloadtest.duration-seconds=15
+ */
+public class ReactiveReadLoadTest {
+
+    private static final long WRITER_ID = 1L;
+    private static final int POSTS = 50;
+    private static final int COMMENTS_PER_POST = 10;
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("loadtest.concurrency-levels", "50,200,800").split(","))
+                .mapToInt((level) -> Integer.parseInt(level.trim()))
+                .toArray();
+        int tomcatThreads = Integer.getInteger("loadtest.tomcat-threads", 50);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 15);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "spring.kafka.listener.auto-startup=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            List<Long> blogPostIds = seed(context);
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<String> results = new ArrayList<>();
+            for (int concurrency : concurrencyLevels) {
+                for (String path : List.of("/blog/api/blogpost", "/blog/api/reactive/blogpost")) {
+                    String url = baseUrl + path + "?blogpost_id=";
+                    LoadDriver.drive(() -> url + randomOf(blogPostIds), concurrency, warmupSeconds);
+                    LoadDriver.Stats stats = LoadDriver.drive(() -> url + randomOf(blogPostIds), concurrency, durationSeconds);
+                    results.add(stats.summary("c=" + concurrency + " " + (path.contains("reactive") ? "reactive" : "mvc"), durationSeconds));
+                }
+            }
+            System.out.printf("%ntomcatThreads=%d posts=%d commentsPerPost=%d duration=%ds%n", tomcatThreads, POSTS, COMMENTS_PER_POST, durationSeconds);
+            results.forEach(System.out::println);
+        } finally {
+            context.close();
+        }
+    }
+
+    // 작성자 1명, 게시글 POSTS 개, 게시글마다 댓글 COMMENTS_PER_POST 개 (댓글 작성자는 각각 다른 유저)
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        BlogPostService blogPostService = context.getBean(BlogPostService.class);
+        PostSubCommentService postSubCommentService = context.getBean(PostSubCommentService.class);
+
+        userService.addUser(UserDto.builder().id(WRITER_ID).email("writer@email.com").build());
+        for (long commenter = 2; commenter < 2 + COMMENTS_PER_POST; commenter++) {
+            userService.addUser(UserDto.builder().id(commenter).email(commenter + "@email.com").build());
+        }
+        List<Long> blogPostIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < POSTS; i++) {
+                as(WRITER_ID);
+                Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목" + i).content("내용 ".repeat(200)).build()).getId();
+                for (long commenter = 2; commenter < 2 + COMMENTS_PER_POST; commenter++) {
+                    as(commenter);
+                    postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글").build());
+                }
+                blogPostIds.add(blogPostId);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return blogPostIds;
+    }
+
+    private static void as(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+
+    private static Long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 도착률(rate profile)과 요청 구성비(weight)로 정의한 부하 시나리오. ArrivalRateDriver 가 도착 시각마다 next() 로 요청을 하나 뽑는다.
+ */
+final class Scenario {
+
+    // 시작 후 경과 시간(ns) 에서의 초당 도착률
+    interface RateProfile {
+        double perSecond(long elapsedNanos);
+
+        static RateProfile constant(double perSecond) {
+            return (elapsedNanos) -> perSecond;
+        }
+
+        // periodSeconds 마다 처음 burstSeconds 동안 도착률이 multiplier 배가 된다.
+        static RateProfile bursts(double perSecond, double multiplier, int periodSeconds, int burstSeconds) {
+            long period = TimeUnit.SECONDS.toNanos(periodSeconds);
+            long burst = TimeUnit.SECONDS.toNanos(burstSeconds);
+            return (elapsedNanos) -> elapsedNanos % period < burst ? perSecond * multiplier : perSecond;
+        }
+    }
+
+    // label 은 결과를 모으는 단위 (같은 endpoint 는 같은 label)
+    static final class Call {
+        private final String label;
+        private final HttpRequest request;
+
+        Call(String label, HttpRequest request) {
+            this.label = label;
+            this.request = request;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        HttpRequest getRequest() {
+            return request;
+        }
+    }
+
+    private final String name;
+    private final RateProfile rateProfile;
+    private final List<Supplier<Call>> calls = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    Scenario(String name, RateProfile rateProfile) {
+        this.name = name;
+        this.rateProfile = rateProfile;
+    }
+
+    Scenario add(int weight, Supplier<Call> call) {
+        totalWeight += weight;
+        calls.add(call);
+        cumulativeWeights.add(totalWeight);
+        return this;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double perSecond(long elapsedNanos) {
+        return rateProfile.perSecond(elapsedNanos);
+    }
+
+    Call next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < calls.size(); i++) {
+            if (pick < cumulativeWeights.get(i)) {
+                return calls.get(i).get();
+            }
+        }
+        throw new IllegalStateException("구성비가 비어있는 시나리오: " + name);
+    }
+}
@@ -0,0 +1,251 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.service.BlogPostService;
+import com.helloworldweb.helloworld_guestbook.service.PostSubCommentService;
+import com.helloworldweb.helloworld_guestbook.service.UserService;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * user_server stub(HTTP) 과 embedded Kafka 를 띄우고, 애플리케이션을 실제 포트로 띄워 시나리오별 open model 부하(ArrivalRateDriver)를 준다.
+ *  - browse : 게시글, 게시글 목록, 방명록, 유저별 댓글 조회 위주의 일정한 도착률
+ *  - guestbook-burst : 인기 방명록 몇 개에 방명록 작성/조회가 주기적으로 몰린다. 작성자 일부는 처음 보는 유저라 user_server 동기화(stub)를 거친다.
+ *  - comment-storm : 게시글 하나에 댓글/대댓글 작성과 그 게시글 조회가 몰린다.
+ * 시나리오 동안 user_server 토픽으로 가입 메시지를 loadtest.signup-rate 건/s 보내 Consumer 경로도 같이 돈다.
+ * 시나리오는 같은 인스턴스에서 순서대로 실행되므로 앞 시나리오가 쓴 데이터가 뒤 시나리오에 남는다.
+ * 결과는 endpoint 별 처리량, 에러율, HdrHistogram 백분위이고, loadtest.hgrm-dir 을 주면 분포 파일(.hgrm)도 남긴다.
+ *
+ * ./gradlew scenarioLoadTest -Dloadtest.scenarios=browse,guestbook-burst,comment-storm -Dloadtest.rate=200 -Dloadtest.duration-seconds=30
+ */
+public class ScenarioLoadTest {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+    private static final long NEW_VISITOR_ID_START = 3_000_000L;
+    private static final long SIGNUP_ID_START = 5_000_000L;
+    private static final int POPULAR_GUESTBOOKS = 5;
+    private static final int HOT_POST_COMMENTS = 10;
+
+    private final String baseUrl;
+    private final JwtTokenService jwtTokenService;
+    private final int users;
+    private final List<Long> blogPostIds = new ArrayList<>();
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> postSubCommentIds = new ArrayList<>();
+    private final List<Long> hotPostCommentIds = new ArrayList<>();
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final AtomicLong newVisitorIds = new AtomicLong(NEW_VISITOR_ID_START);
+    private Long hotPostId;
+
+    private ScenarioLoadTest(String baseUrl, JwtTokenService jwtTokenService, int users) {
+        this.baseUrl = baseUrl;
+        this.jwtTokenService = jwtTokenService;
+        this.users = users;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> scenarios = Arrays.asList(System.getProperty("loadtest.scenarios", "browse,guestbook-burst,comment-storm").split(","));
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2000);
+        int users = Integer.getInteger("loadtest.users", 200);
+        int posts = Integer.getInteger("loadtest.posts", 500);
+        int stubDelayMillis = Integer.getInteger("loadtest.stub-delay-ms", 50);
+        double signupRate = Double.parseDouble(System.getProperty("loadtest.signup-rate", "5"));
+        String hgrmDir = System.getProperty("loadtest.hgrm-dir");
+
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker(1, false, 2, "user_server", "blog_events");
+        broker.afterPropertiesSet();
+        HttpServer stub = UserServerStub.start(stubDelayMillis);
+        ConfigurableApplicationContext context = null;
+        ScheduledExecutorService signups = Executors.newSingleThreadScheduledExecutor();
+        try {
+            context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "server.tomcat.threads.max=" + Integer.getInteger("loadtest.tomcat-threads", 200),
+                            "spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("loadtest.pool-size", 10),
+                            "jwt.secret=" + SECRET,
+                            "sync.user-server.url=http://localhost:" + stub.getAddress().getPort(),
+                            "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                            "spring.kafka.consumer.auto-offset-reset=earliest",
+                            "eureka.client.enabled=false",
+                            "spring.cloud.discovery.enabled=false",
+                            "logging.level.root=WARN")
+                    .run();
+            ScenarioLoadTest loadTest = new ScenarioLoadTest(
+                    "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort(),
+                    context.getBean(JwtTokenService.class),
+                    users);
+            loadTest.seed(context, posts);
+            startSignups(signups, context.getBean(KafkaTemplate.class), signupRate);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            List<String> results = new ArrayList<>();
+            for (String name : scenarios) {
+                Scenario scenario = loadTest.scenario(name.trim(), rate);
+                ArrivalRateDriver.drive(client, scenario, warmupSeconds, maxInFlight);
+                ArrivalRateDriver.Report report = ArrivalRateDriver.drive(client, scenario, durationSeconds, maxInFlight);
+                results.addAll(report.summary());
+                if (hgrmDir != null) {
+                    report.writeHistograms(Path.of(hgrmDir));
+                }
+            }
+            System.out.printf("%nrate=%.0f req/s users=%d posts=%d stubDelay=%dms signupRate=%.1f/s duration=%ds%n", rate, users, posts, stubDelayMillis, signupRate, durationSeconds);
+            results.forEach(System.out::println);
+        } finally {
+            signups.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+            stub.stop(0);
+            broker.destroy();
+        }
+    }
+
+    private Scenario scenario(String name, double rate) {
+        switch (name) {
+            case "browse":
+                return new Scenario(name, Scenario.RateProfile.constant(rate))
+                        .add(50, () -> get("GET /api/blogpost", "/blog/api/blogpost?blogpost_id=" + randomOf(blogPostIds)))
+                        .add(20, () -> get("GET /api/blogpost/all", "/blog/api/blogpost/all?user_id=" + randomOf(authorIds)))
+                        .add(15, () -> get("GET /api/guestbook", "/blog/api/guestbook?user_id=" + randomUser()))
+                        .add(10, () -> get("GET /api/guestbook/comments", "/blog/api/guestbook/comments?user_id=" + randomUser()))
+                        .add(5, () -> get("GET /api/postsubcomment", "/blog/api/postsubcomment?postsubcomment_id=" + randomOf(postSubCommentIds)));
+            case "guestbook-burst":
+                // 10초마다 3초 동안 도착률 5배
+                return new Scenario(name, Scenario.RateProfile.bursts(rate, 5.0, 10, 3))
+                        .add(45, () -> post("POST /api/guestbook", "/blog/api/guestbook?user_id=" + popularGuestBook(), "{\"content\":\"방명록\"}", randomUser()))
+                        .add(5, () -> post("POST /api/guestbook (new visitor)", "/blog/api/guestbook?user_id=" + popularGuestBook(), "{\"content\":\"첫 방문\"}", newVisitorIds.incrementAndGet()))
+                        .add(50, () -> get("GET /api/guestbook", "/blog/api/guestbook?user_id=" + popularGuestBook()));
+            case "comment-storm":
+                return new Scenario(name, Scenario.RateProfile.constant(rate))
+                        .add(40, () -> post("POST /api/postsubcomment", "/blog/api/postsubcomment?blogpost_id=" + hotPostId, "{\"content\":\"댓글\"}", randomUser()))
+                        .add(20, () -> post("POST /api/postsubcomment (reply)", "/blog/api/postsubcomment", "{\"postCommentId\":" + randomOf(hotPostCommentIds) + ",\"content\":\"대댓글\"}", randomUser()))
+                        .add(40, () -> get("GET /api/blogpost (hot)", "/blog/api/blogpost?blogpost_id=" + hotPostId));
+            default:
+                throw new IllegalArgumentException("알 수 없는 시나리오: " + name);
+        }
+    }
+
+    // 유저 1..users (user_server register 와 같이 upsert), 작성자는 앞쪽 20% 유저. 게시글마다 댓글 0~4개, hot 게시글은 댓글 HOT_POST_COMMENTS 개로 시작
+    private void seed(ConfigurableApplicationContext context, int posts) {
+        UserService userService = context.getBean(UserService.class);
+        BlogPostService blogPostService = context.getBean(BlogPostService.class);
+        PostSubCommentService postSubCommentService = context.getBean(PostSubCommentService.class);
+
+        for (long userId = 1; userId <= users; userId++) {
+            userService.upsertUser(UserDto.builder().id(userId).email(userId + "@email.com").nickName("user" + userId).build(), 1L);
+        }
+        for (long userId = 1; userId <= Math.max(1, users / 5); userId++) {
+            authorIds.add(userId);
+        }
+        try {
+            for (int i = 0; i < posts; i++) {
+                Long author = randomOf(authorIds);
+                as(author);
+                Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목" + i).content("내용 ".repeat(200)).tags("tags").build()).getId();
+                blogPostIds.add(blogPostId);
+                int comments = ThreadLocalRandom.current().nextInt(5);
+                for (int c = 0; c < comments; c++) {
+                    as(randomUser());
+                    postSubCommentIds.add(postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글").build()).getId());
+                }
+            }
+            as(authorIds.get(0));
+            hotPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("hot").content("내용 ".repeat(200)).tags("tags").build()).getId();
+            for (int c = 0; c < HOT_POST_COMMENTS; c++) {
+                as(randomUser());
+                PostSubCommentDto comment = postSubCommentService.createPostSubComment(hotPostId, PostSubCommentDto.builder().content("댓글").build());
+                hotPostCommentIds.add(comment.getPostCommentId());
+                postSubCommentIds.add(comment.getId());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // user_server 의 가입 메시지를 일정한 간격으로 보낸다.
+    @SuppressWarnings("unchecked")
+    private static void startSignups(ScheduledExecutorService signups, KafkaTemplate<?, ?> kafkaTemplate, double perSecond) {
+        if (perSecond <= 0) {
+            return;
+        }
+        KafkaTemplate<String, String> template = (KafkaTemplate<String, String>) kafkaTemplate;
+        AtomicLong signupIds = new AtomicLong(SIGNUP_ID_START);
+        signups.scheduleAtFixedRate(
+                () -> template.send("user_server", "{\"operation\":\"register\",\"id\":" + signupIds.incrementAndGet() + "}"),
+                0, (long) (TimeUnit.SECONDS.toMicros(1) / perSecond), TimeUnit.MICROSECONDS);
+    }
+
+    private Scenario.Call get(String label, String path) {
+        return new Scenario.Call(label, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build());
+    }
+
+    private Scenario.Call post(String label, String path, String json, Long callerId) {
+        return new Scenario.Call(label, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Cookie", "Auth=" + token(callerId))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    // 기존 유저의 토큰은 재사용하고, 한번만 쓰는 새 방문자 토큰은 저장하지 않는다.
+    private String token(Long userId) {
+        if (userId > users) {
+            return jwtTokenService.createToken(String.valueOf(userId));
+        }
+        return tokens.computeIfAbsent(userId, (id) -> jwtTokenService.createToken(String.valueOf(id)));
+    }
+
+    private Long randomUser() {
+        return 1L + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private Long popularGuestBook() {
+        return 1L + ThreadLocalRandom.current().nextInt(Math.min(POPULAR_GUESTBOOKS, users));
+    }
+
+    private static void as(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+
+    private static Long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * user_server 대신 띄우는 HTTP stub. SyncService 가 처음 보는 유저를 조회하면 delayMillis 후 user_id 만 담아 돌려준다.
+ */
+final class UserServerStub {
+
+    private UserServerStub() {
+    }
+
+    // SyncService 가 기대하는 ApiResponse 형태로 user_id 만 돌려준다.
+    static HttpServer start(int delayMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/user/register/sync", (exchange) -> {
+            String query = exchange.getRequestURI().getQuery();
+            String userId = query.substring(query.indexOf("user_id=") + "user_id=".length());
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"statusCode\":200,\"httpResponseMessage\":\"OK\",\"data\":{\"id\":" + userId + "}}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
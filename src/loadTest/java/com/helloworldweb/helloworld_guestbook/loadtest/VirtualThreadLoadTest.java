@@ -0,0 +1,70 @@
+package com.helloworldweb.helloworld_guestbook.loadtest;
+
+import com.helloworldweb.helloworld_guestbook.HelloworldGuestbookApplication;
+import com.helloworldweb.helloworld_guestbook.config.VirtualThreads;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 user_server stub 을 띄우고, 애플리케이션을 platform thread / virtual thread 모드로 차례로 띄워 같은 부하(closed model)를 준다.
+ * 요청마다 처음 보는 user_id 로 GET /blog/api/postsubcomment/user 를 호출해 SyncService.syncUser (WebClient block) 를 거치게 한다.
+ * syncUser 는 서비스 트랜잭션 안에서 호출되어 DB 커넥션을 쥔 채 기다리므로 loadtest.pool-size 가 두 모드 모두의 상한이 된다.
+ *
+ * ./gradlew loadTest -Dloadtest.concurrency=400 -Dloadtest.duration-seconds=20 -Dloadtest.stub-delay-ms=200 -Dloadtest.pool-size=10
+ */
+public class VirtualThreadLoadTest {
+
+    private static final String PATH = "/blog/api/postsubcomment/user?user_id=";
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 20);
+        int stubDelayMillis = Integer.getInteger("loadtest.stub-delay-ms", 200);
+        int poolSize = Integer.getInteger("loadtest.pool-size", 10);
+
+        HttpServer stub = UserServerStub.start(stubDelayMillis);
+        try {
+            List<Boolean> modes = VirtualThreads.isSupported() ? List.of(false, true) : List.of(false);
+            if (!VirtualThreads.isSupported()) {
+                System.out.println("Java " + Runtime.version() + " 는 virtual thread 를 지원하지 않아 platform 모드만 측정합니다.");
+            }
+            List<String> results = new ArrayList<>();
+            for (boolean virtual : modes) {
+                results.add(run(virtual, stub.getAddress().getPort(), poolSize, concurrency, warmupSeconds, durationSeconds));
+            }
+            System.out.printf("%nconcurrency=%d stubDelay=%dms poolSize=%d duration=%ds%n", concurrency, stubDelayMillis, poolSize, durationSeconds);
+            results.forEach(System.out::println);
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static String run(boolean virtual, int stubPort, int poolSize, int concurrency, int warmupSeconds, int durationSeconds) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HelloworldGuestbookApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "sync.user-server.url=http://localhost:" + stubPort,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "spring.kafka.listener.auto-startup=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + PATH;
+            AtomicLong userIds = new AtomicLong(1_000_000L);
+            LoadDriver.drive(() -> baseUrl + userIds.incrementAndGet(), concurrency, warmupSeconds);
+            LoadDriver.Stats stats = LoadDriver.drive(() -> baseUrl + userIds.incrementAndGet(), concurrency, durationSeconds);
+            return stats.summary(virtual ? "virtual" : "platform", durationSeconds);
+        } finally {
+            context.close();
+        }
+    }
+}
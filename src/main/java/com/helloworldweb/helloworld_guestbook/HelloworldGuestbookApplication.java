@@ -2,12 +2,18 @@ package com.helloworldweb.helloworld_guestbook;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// 인증은 JwtAuthenticationFilter(CallerPrincipal)만 사용하므로 기본 in-memory 유저를 만들지 않는다.
+// R2DBC 는 읽기 전용(ReactiveReadRepository)이므로 @Transactional 이 JPA 트랜잭션 매니저 하나만 보도록 reactive 트랜잭션 매니저를 만들지 않는다.
+@SpringBootApplication(exclude = {UserDetailsServiceAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableJpaAuditing
 @EnableDiscoveryClient
+@EnableScheduling
 public class HelloworldGuestbookApplication {
 
 	public static void main(String[] args) {
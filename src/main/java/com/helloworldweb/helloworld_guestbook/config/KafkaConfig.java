@@ -0,0 +1,35 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.kafka.UserServerFailureHandler;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.StringOrBytesSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * listener 밖에서 실패한 레코드는 두번 재시도 후 user_server-dlt 로 보낸다.
+     * 역직렬화 실패(poison pill)는 다시 읽어도 같은 결과이므로 재시도 없이 바로 보낸다.
+     * 역직렬화 실패 레코드는 원본 byte[] 그대로 보내야 하므로 String/byte[] 모두 처리하는 template 을 따로 만든다.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(KafkaProperties kafkaProperties) {
+        KafkaTemplate<Object, Object> deadLetterTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(), new StringOrBytesSerializer(), new StringOrBytesSerializer()));
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, exception) -> new TopicPartition(UserServerFailureHandler.DLT_TOPIC, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 2L));
+        errorHandler.addNotRetryableExceptions(DeserializationException.class);
+        return errorHandler;
+    }
+}
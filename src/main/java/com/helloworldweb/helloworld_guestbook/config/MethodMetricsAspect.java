@@ -0,0 +1,239 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.dto.MethodMetricsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * service, repository, kafka.Consumer 의 public 메소드별 지연시간 histogram 과 에러 수.
+ *  - app.method{class, method, outcome} : 지연시간 (SLO 버킷 histogram, Prometheus 에서 app_method_seconds_bucket)
+ *  - app.method.calls{class, method} : 호출 수
+ *  - app.method.errors{class, method, exception} : 예외로 끝난 호출 수
+ * 호출/에러 수는 항상 세고, 지연시간은 sample-rate 비율의 호출만 잰다. (timer count / app.method.sample.rate ≈ 호출 수)
+ * 기록은 Micrometer 의 LongAdder, atomic 버킷으로 lock 없이 이루어지고, meter 는 (클래스, 메소드)별로 한번만 만든다.
+ * 꺼져 있으면 volatile 읽기 한번 후 바로 호출한다. 오버헤드는 src/jmh 의 MethodMetricsAspectBenchmark 로 잰다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // 트랜잭션 커밋 시간까지 포함
+public class MethodMetricsAspect {
+
+    private static final String BASE_PACKAGE = "com.helloworldweb.helloworld_guestbook";
+    private static final Duration[] BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500)};
+
+    private final MeterRegistry meterRegistry;
+    // 대상 클래스 -> 메소드 -> meter. 조회만 하는 경로에서는 할당, lock 이 없다.
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry,
+                               @Value("${metrics.methods.enabled:true}") boolean enabled,
+                               @Value("${metrics.methods.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.sampleRate = clamp(sampleRate);
+        Gauge.builder("app.method.sample.rate", this, (aspect) -> aspect.enabled ? aspect.sampleRate : 0.0)
+                .description("지연시간을 측정하는 호출 비율, 꺼져 있으면 0")
+                .register(meterRegistry);
+    }
+
+    @Pointcut("within(com.helloworldweb.helloworld_guestbook.service..*) || within(com.helloworldweb.helloworld_guestbook.kafka.Consumer)")
+    void services() {
+    }
+
+    // Spring Data repository 는 JDK proxy 이므로 타입으로 잡는다.
+    @Pointcut("within(com.helloworldweb.helloworld_guestbook.repository..*) || this(org.springframework.data.repository.Repository)")
+    void repositories() {
+    }
+
+    // Publisher 를 반환하는 메소드는 구독할 때 실행되므로 반환 시점까지의 시간은 의미가 없다.
+    @Pointcut("execution(public * *(..)) && !execution(org.reactivestreams.Publisher+ *(..))")
+    void publicMethods() {
+    }
+
+    @Around("publicMethods() && (services() || repositories())")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        MethodMeters methodMeters = metersOf(joinPoint);
+        methodMeters.calls.increment();
+        double rate = sampleRate;
+        if (rate < 1.0 && (rate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= rate)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                methodMeters.error(meterRegistry, e);
+                throw e;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodMeters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.error(meterRegistry, e);
+            throw e;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    // null 이면 그대로 둔다. sample-rate 는 0~1 로 맞추고, 0 이면 호출/에러 수만 센다.
+    public void configure(Boolean enabled, Double sampleRate) {
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+        if (sampleRate != null) {
+            this.sampleRate = clamp(sampleRate);
+        }
+    }
+
+    // 전체 시간(평균 x 측정 횟수)이 큰 순. 백분위는 SLO 버킷 상한 기준
+    public MethodMetricsDto summarize() {
+        List<MethodMetricsDto.MethodStat> stats = new ArrayList<>();
+        for (Map<Method, MethodMeters> byMethod : meters.values()) {
+            for (MethodMeters methodMeters : byMethod.values()) {
+                stats.add(methodMeters.stat());
+            }
+        }
+        stats.sort(Comparator.comparingDouble((MethodMetricsDto.MethodStat stat) -> stat.getMeanMillis() * stat.getSampled()).reversed());
+        return new MethodMetricsDto(enabled, sampleRate, stats);
+    }
+
+    private MethodMeters metersOf(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodMeters> byMethod = meters.get(targetClass);
+        if (byMethod == null) {
+            byMethod = meters.computeIfAbsent(targetClass, (key) -> new ConcurrentHashMap<>());
+        }
+        MethodMeters methodMeters = byMethod.get(method);
+        if (methodMeters == null) {
+            methodMeters = byMethod.computeIfAbsent(method, (key) -> new MethodMeters(meterRegistry, ownerName(targetClass), key.getName()));
+        }
+        return methodMeters;
+    }
+
+    // repository 는 JDK proxy 클래스 대신 우리 repository 인터페이스 이름, CGLIB 클래스는 원래 클래스 이름
+    static String ownerName(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass)) {
+            for (Class<?> type : targetClass.getInterfaces()) {
+                if (type.getName().startsWith(BASE_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        String name = targetClass.getSimpleName();
+        int generated = name.indexOf("$$");
+        return generated > 0 ? name.substring(0, generated) : name;
+    }
+
+    private static double clamp(double sampleRate) {
+        return Math.max(0.0, Math.min(1.0, sampleRate));
+    }
+
+    private static final class MethodMeters {
+        private final String className;
+        private final String method;
+        private final Counter calls;
+        private final Timer success;
+        private final Timer failure;
+        // 예외 클래스 -> counter
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        private MethodMeters(MeterRegistry meterRegistry, String className, String method) {
+            this.className = className;
+            this.method = method;
+            this.calls = Counter.builder("app.method.calls")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.success = timer(meterRegistry, "success");
+            this.failure = timer(meterRegistry, "error");
+        }
+
+        private Timer timer(MeterRegistry meterRegistry, String outcome) {
+            return Timer.builder("app.method")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meterRegistry);
+        }
+
+        private void error(MeterRegistry meterRegistry, Throwable e) {
+            Counter counter = errors.get(e.getClass());
+            if (counter == null) {
+                counter = errors.computeIfAbsent(e.getClass(), (type) -> Counter.builder("app.method.errors")
+                        .tag("class", className)
+                        .tag("method", method)
+                        .tag("exception", type.getSimpleName())
+                        .register(meterRegistry));
+            }
+            counter.increment();
+        }
+
+        private MethodMetricsDto.MethodStat stat() {
+            HistogramSnapshot snapshot = success.takeSnapshot();
+            long errorCount = 0;
+            for (Counter counter : errors.values()) {
+                errorCount += (long) counter.count();
+            }
+            return new MethodMetricsDto.MethodStat(className, method,
+                    (long) calls.count(),
+                    errorCount,
+                    snapshot.count() + failure.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    bucketPercentile(snapshot, 0.5),
+                    bucketPercentile(snapshot, 0.99),
+                    Math.max(snapshot.max(TimeUnit.MILLISECONDS), failure.max(TimeUnit.MILLISECONDS)));
+        }
+
+        // 누적 버킷에서 percentile 을 넘는 첫 버킷의 상한, 마지막 버킷을 넘으면 max
+        private static double bucketPercentile(HistogramSnapshot snapshot, double percentile) {
+            double target = percentile * snapshot.count();
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                if (target > 0 && bucket.count() >= target) {
+                    return bucket.bucket(TimeUnit.MILLISECONDS);
+                }
+            }
+            return snapshot.max(TimeUnit.MILLISECONDS);
+        }
+    }
+}
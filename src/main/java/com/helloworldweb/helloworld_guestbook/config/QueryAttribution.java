@@ -0,0 +1,182 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.dto.QueryDiagnosticsDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * DataSource proxy(QueryAttributionConfig) 가 실행한 SQL 을 현재 요청의 핸들러(BlogPostController.getBlogPostById 등)에 귀속시킨다.
+ *  - db.request.statements{handler} : 요청당 SQL 실행 수 (batch 는 1회)
+ *  - db.request.time{handler} : 요청당 DB 시간 합
+ * 예산(db.query-budget.statements / time-ms)을 넘은 요청은 SQL 과 바인딩 타입을 warn 으로 남긴다. 바인딩 값은 남기지 않는다.
+ * 요청과 무관하게 가장 느린 SQL top-N 을 유지해 진단 API 로 보여준다.
+ */
+@Slf4j
+@Component
+public class QueryAttribution implements QueryExecutionListener, AsyncHandlerInterceptor {
+
+    static final String BACKGROUND = "background";
+    // 예산 초과 로그에 남길 요청당 최대 SQL 수
+    private static final int MAX_LOGGED_STATEMENTS = 50;
+
+    private final ThreadLocal<RequestQueries> current = new ThreadLocal<>();
+    private final PriorityQueue<QueryDiagnosticsDto.SlowStatement> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(QueryDiagnosticsDto.SlowStatement::getElapsedMillis));
+    private final ReentrantLock slowestLock = new ReentrantLock();
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long timeBudgetMillis;
+    private final int topN;
+    private volatile long slowestThresholdMillis = -1L;
+
+    public QueryAttribution(MeterRegistry meterRegistry,
+                            @Value("${db.query-budget.statements:20}") int statementBudget,
+                            @Value("${db.query-budget.time-ms:500}") long timeBudgetMillis,
+                            @Value("${db.query-budget.top-n:20}") int topN) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.topN = Math.max(1, topN);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            current.set(new RequestQueries(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueries queries = current.get();
+        if (queries == null) {
+            return;
+        }
+        current.remove();
+        DistributionSummary.builder("db.request.statements")
+                .tag("handler", queries.handler)
+                .register(meterRegistry)
+                .record(queries.count);
+        Timer.builder("db.request.time")
+                .tag("handler", queries.handler)
+                .register(meterRegistry)
+                .record(queries.elapsedMillis, TimeUnit.MILLISECONDS);
+        if (queries.count > statementBudget || queries.elapsedMillis > timeBudgetMillis) {
+            log.warn("DB 쿼리 예산 초과 handler={} statements={}/{} dbTime={}ms/{}ms\n{}",
+                    queries.handler, queries.count, statementBudget, queries.elapsedMillis, timeBudgetMillis,
+                    String.join("\n", queries.statements));
+        }
+    }
+
+    // Mono 등 비동기 응답은 첫 dispatch 에서 afterCompletion 이 불리지 않으므로 요청 스레드에 남기지 않는다. (재 dispatch 때 preHandle 부터 다시 기록)
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        current.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        RequestQueries queries = current.get();
+        String handler = queries != null ? queries.handler : BACKGROUND;
+        for (QueryInfo queryInfo : queryInfoList) {
+            String bindShape = bindShape(queryInfo.getParametersList());
+            if (queries != null && queries.statements.size() < MAX_LOGGED_STATEMENTS) {
+                queries.statements.add(elapsedMillis + "ms " + queryInfo.getQuery() + " " + bindShape);
+            }
+            recordSlowest(handler, queryInfo.getQuery(), bindShape, elapsedMillis);
+        }
+        if (queries != null) {
+            queries.count++;
+            queries.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    public QueryDiagnosticsDto diagnose() {
+        List<QueryDiagnosticsDto.SlowStatement> statements;
+        slowestLock.lock();
+        try {
+            statements = new ArrayList<>(slowest);
+        } finally {
+            slowestLock.unlock();
+        }
+        statements.sort(Comparator.comparingLong(QueryDiagnosticsDto.SlowStatement::getElapsedMillis).reversed());
+        return new QueryDiagnosticsDto(statementBudget, timeBudgetMillis, statements);
+    }
+
+    // 가득 찬 뒤에는 가장 빠른 항목보다 느린 SQL 만 잠금을 잡는다.
+    private void recordSlowest(String handler, String sql, String bindShape, long elapsedMillis) {
+        if (elapsedMillis <= slowestThresholdMillis) {
+            return;
+        }
+        slowestLock.lock();
+        try {
+            slowest.add(new QueryDiagnosticsDto.SlowStatement(handler, sql, bindShape, elapsedMillis, LocalDateTime.now()));
+            if (slowest.size() > topN) {
+                slowest.poll();
+            }
+            if (slowest.size() == topN) {
+                slowestThresholdMillis = slowest.peek().getElapsedMillis();
+            }
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    // 첫 파라미터 묶음의 타입만 남긴다. ex) [Long, String] x 50
+    static String bindShape(List<List<ParameterSetOperation>> parametersList) {
+        if (parametersList == null || parametersList.isEmpty()) {
+            return "[]";
+        }
+        String shape = parametersList.get(0).stream()
+                .map(QueryAttribution::bindType)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return parametersList.size() > 1 ? shape + " x " + parametersList.size() : shape;
+    }
+
+    private static String bindType(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+
+    private static class RequestQueries {
+        private final String handler;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+        private long elapsedMillis;
+
+        private RequestQueries(String handler) {
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * JPA 가 사용하는 dataSource 빈(replica 설정 시 routing proxy)을 datasource-proxy 로 감싸 QueryAttribution 이 모든 SQL 을 보도록 한다.
+ * primary/replica 개별 DataSource 는 감싸지 않아 같은 SQL 이 두번 세어지지 않는다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class QueryAttributionConfig implements WebMvcConfigurer {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final QueryAttribution queryAttribution;
+
+    @Bean
+    public static BeanPostProcessor queryAttributionDataSourceProxy(ObjectProvider<QueryAttribution> queryAttribution) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(DATA_SOURCE_BEAN, (DataSource) bean)
+                            .listener(queryAttribution.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryAttribution);
+    }
+}
@@ -0,0 +1,56 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * reactive 읽기 API(ReactiveReadController)용 R2DBC 연결.
+ * spring.r2dbc.url 이 있으면 그대로 사용하고(r2dbc:pool:... 로 풀 사용), 없으면 JDBC 와 같은 H2 데이터베이스를 연다.
+ * (Boot 기본값은 별도의 임베디드 DB 를 만들어 JPA 가 쓴 데이터를 볼 수 없다)
+ */
+@Configuration
+public class ReactiveReadConfig {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    @Bean
+    public ConnectionFactory connectionFactory(DataSourceProperties dataSourceProperties,
+                                               @Value("${spring.r2dbc.url:}") String r2dbcUrl,
+                                               @Value("${spring.r2dbc.username:}") String username,
+                                               @Value("${spring.r2dbc.password:}") String password) {
+        if (StringUtils.hasText(r2dbcUrl)) {
+            ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+            if (StringUtils.hasText(username)) {
+                options.option(ConnectionFactoryOptions.USER, username);
+                options.option(ConnectionFactoryOptions.PASSWORD, password);
+            }
+            return ConnectionFactories.get(options.build());
+        }
+        String jdbcUrl = dataSourceProperties.determineUrl();
+        if (jdbcUrl == null || !jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("H2 가 아닌 데이터베이스는 spring.r2dbc.url 을 설정해야 합니다. (" + jdbcUrl + ")");
+        }
+        H2ConnectionConfiguration.Builder configuration = H2ConnectionConfiguration.builder()
+                .url(jdbcUrl.substring(H2_JDBC_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername());
+        String jdbcPassword = dataSourceProperties.determinePassword();
+        if (StringUtils.hasText(jdbcPassword)) {
+            configuration.password(jdbcPassword);
+        }
+        return new H2ConnectionFactory(configuration.build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
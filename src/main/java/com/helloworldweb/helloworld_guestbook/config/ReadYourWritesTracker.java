@@ -0,0 +1,47 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 마지막 쓰기 커밋 시각. stickiness 기간 동안은 그 유저의 readOnly 트랜잭션도 primary 로 보내
+ * replica 지연 때문에 자기가 쓴 글이 안 보이는 일을 막는다.
+ */
+public class ReadYourWritesTracker {
+
+    private final long stickinessMillis;
+    private final ConcurrentHashMap<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickinessMillis) {
+        this.stickinessMillis = stickinessMillis;
+    }
+
+    public void recordWrite(Long userId) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(userId, now);
+        // 만료된 항목 정리, 쓰기 트래픽이 많을 때만 돈다.
+        if (lastWrites.size() > 10_000) {
+            lastWrites.values().removeIf((writtenAt) -> writtenAt + stickinessMillis <= now);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && writtenAt + stickinessMillis > System.currentTimeMillis();
+    }
+
+    // 인증되지 않은 요청, Kafka/스케줄러 스레드는 null
+    public static Long currentCallerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CallerPrincipal) {
+            return ((CallerPrincipal) authentication.getPrincipal()).getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * primary 에 heartbeat 시각을 쓰고 replica 에 복제된 값을 읽어 replica 지연을 잰다.
+ * 측정값은 실제 복제 지연 + 최대 heartbeat 주기 만큼 크므로 max-lag 는 heartbeat 주기보다 크게 잡는다.
+ * 지연이 max-lag 를 넘거나 측정에 실패하면 readOnly 트랜잭션도 primary 로 보낸다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_TABLE = "create table if not exists replica_heartbeat (id int primary key, beat_at bigint not null)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.heartbeat-interval-ms:500}")
+    public void heartbeat() {
+        if (maxLagMillis <= 0) {
+            return;
+        }
+        try {
+            beat();
+            check();
+        } catch (RuntimeException e) {
+            lagMillis = Long.MAX_VALUE;
+            log.warn("replica 지연 측정 실패, readOnly 트랜잭션을 primary 로 보냅니다.", e);
+        }
+    }
+
+    public void beat() {
+        primary.execute(CREATE_TABLE);
+        long now = System.currentTimeMillis();
+        if (primary.update("update replica_heartbeat set beat_at = ? where id = 1", now) == 0) {
+            primary.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", now);
+        }
+    }
+
+    public void check() {
+        List<Long> beats = replica.queryForList("select beat_at from replica_heartbeat where id = 1", Long.class);
+        lagMillis = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beats.get(0));
+    }
+
+    // max-lag 가 0 이하면 지연 검사를 하지 않는다.
+    public boolean isReplicaUsable() {
+        return maxLagMillis <= 0 || lagMillis <= maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
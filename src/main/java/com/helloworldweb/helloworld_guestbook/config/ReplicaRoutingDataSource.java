@@ -0,0 +1,76 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * readOnly 트랜잭션은 replica, 나머지는 primary 로 보낸다.
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 동기화되지 않으므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ * replica 는 primary 보다 늦을 수 있으므로 replica 로 보낸 트랜잭션에서는 2차 캐시를 읽기만 하고(CacheMode.GET) 새로 올리지 않는다.
+ * (EntityCacheService 가 커밋 후 비운 자리에 지연된 replica 값이 다시 올라가지 않도록)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long callerId = ReadYourWritesTracker.currentCallerId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaLagMonitor.isReplicaUsable() && !readYourWritesTracker.isSticky(callerId)) {
+                disableSecondLevelCachePut();
+                return REPLICA;
+            }
+            return PRIMARY;
+        }
+        // 요청자의 쓰기 트랜잭션이 커밋되면 stickiness 기간 시작
+        if (callerId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite(callerId);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    // 커넥션을 처음 가져오는 시점이므로 아직 DB 에서 읽은 엔티티는 없다. 트랜잭션이 끝나면(open-in-view 세션) 원래 CacheMode 로 되돌린다.
+    private static void disableSecondLevelCachePut() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder)) {
+                continue;
+            }
+            Session session = ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class);
+            CacheMode previous = session.getCacheMode();
+            if (previous == CacheMode.GET || previous == CacheMode.IGNORE) {
+                continue;
+            }
+            session.setCacheMode(CacheMode.GET);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        session.setCacheMode(previous);
+                    }
+                }
+            });
+        }
+    }
+}
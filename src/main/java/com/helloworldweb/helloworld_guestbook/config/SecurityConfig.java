@@ -16,6 +16,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig{
 
+    // 관리 API(DLT 재전송, 메소드 지표 설정 등), 진단 API(SQL, Kafka lag, 캐시 통계 등)와 actuator(health 제외)는 roles claim 에 ADMIN 이 있는 토큰만 호출할 수 있다.
+    // Prometheus 처럼 쿠키를 보낼 수 없는 호출자는 Authorization: Bearer 헤더로 토큰을 보낸다.
+    public static final String ADMIN_ROLE = "ADMIN";
+
     private final JwtTokenService jwtTokenService;
 
     @Bean
@@ -25,6 +29,8 @@ public class SecurityConfig{
                 .csrf().disable();
         http
                 .authorizeHttpRequests()
+                .antMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .antMatchers("/blog/api/admin/**", "/blog/api/diagnostics/**", "/actuator/**").hasRole(ADMIN_ROLE)
                 .anyRequest().permitAll()
                 .and()
                 .addFilterBefore(new JwtAuthenticationFilter(jwtTokenService), UsernamePasswordAuthenticationFilter.class);;
@@ -0,0 +1,30 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * 트랜잭션 여부와 관계없이 새로 만들어지는 모든 EntityManager 에서 삭제된 게시글 필터를 켠다.
+ * 필터는 JPQL/Criteria 조회에만 적용되고 findById(em.find) 와 bulk update/delete 에는 적용되지 않는다.
+ */
+@Configuration
+public class SoftDeleteFilterConfig {
+
+    @Bean
+    public static BeanPostProcessor softDeleteFilterInitializer() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean).setEntityManagerInitializer(
+                            (entityManager) -> entityManager.unwrap(Session.class).enableFilter(BlogPost.NOT_DELETED_FILTER));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리, @Async(applicationTaskExecutor), Kafka listener consumer 를 virtual thread 로 실행한다.
+ * SyncService 의 WebClient block() 과 JDBC 호출이 platform thread 를 붙잡지 않도록 하기 위함. Java 21 이상에서만 켤 수 있다.
+ * virtual thread 는 풀이 없으므로 동시 요청 수는 server.tomcat.max-connections, DB 동시성은 Hikari pool 크기가 제한한다.
+ * 블로킹 구간을 감싸는 synchronized 는 carrier thread 를 고정(pinning)하므로 공유 상태는 ReentrantLock 으로 보호한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("spring.threads.virtual.enabled 는 Java 21 이상에서만 사용할 수 있습니다. (현재 " + Runtime.version() + ")");
+        }
+        log.info("virtual thread 실행 모드");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return (protocolHandler) -> protocolHandler.setExecutor(virtualThreadExecutor("tomcat-handler-"));
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return virtualThreadExecutor("async-");
+    }
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> virtualThreadKafkaContainerCustomizer() {
+        return (container) -> container.getContainerProperties()
+                .setConsumerTaskExecutor(virtualThreadExecutor(container.getListenerId() + "-consumer-"));
+    }
+
+    // 작업마다 새 virtual thread
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String namePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(namePrefix);
+        executor.setThreadFactory(VirtualThreads.threadFactory(namePrefix));
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 실행 중인 JVM 이 지원하면(Java 21+) virtual thread 를, 아니면 platform thread 를 만드는 ThreadFactory.
+ * 빌드 타겟이 Java 11 이므로 Thread.ofVirtual() 은 reflection 으로 호출한다.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return virtualThreadFactory("probe-") != null;
+    }
+
+    public static ThreadFactory threadFactory(String namePrefix) {
+        ThreadFactory factory = virtualThreadFactory(namePrefix);
+        return factory != null ? factory : new CustomizableThreadFactory(namePrefix);
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 21 미만이거나 preview 가 꺼져있는 경우
+            return null;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -54,8 +55,12 @@ public class BlogPostController {
     }
 
     @GetMapping("/api/blogpost")
-    private ResponseEntity<ApiResponse> getBlogPostById(@RequestParam(name = "blogpost_id") Long blogPostId){
+    private ResponseEntity<ApiResponse> getBlogPostById(@RequestParam(name = "blogpost_id") Long blogPostId, ServletWebRequest webRequest){
 
+        // 댓글, 대댓글까지 바뀌지 않았으면 게시글을 읽지 않고 304
+        if (ConditionalGet.notModified(webRequest, blogPostService.getRevision(blogPostId))) {
+            return null;
+        }
         BlogPostDto blogPostDto = blogPostService.getBlogPost(blogPostId);
 
         return new ResponseEntity<>(ApiResponse.response(
@@ -0,0 +1,46 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * 조건부 GET. aggregate revision 으로 weak ETag 를, 마지막 변경 시각으로 Last-Modified 를 내려준다.
+ * If-None-Match(없으면 If-Modified-Since)가 현재 revision 과 같으면 응답을 304 로 두고, 핸들러는 aggregate 를 읽지 않고 끝낸다.
+ * 본문의 조회수와 작성자 프로필(user_server 에서 동기화)은 revision 을 올리지 않고 바뀌므로 같은 revision 이라도 본문이 바이트 단위로 같지 않다.
+ * 그래서 strong validator 가 아니라 W/ 를 붙인 weak ETag 다. (Range 요청, strong 비교가 필요한 캐시에 쓰지 않도록) 304 응답에서는 조회수도 올라가지 않는다.
+ */
+final class ConditionalGet {
+
+    // 브라우저가 저장은 하되 매번 재검증하도록 한다. (Spring Security 기본값 no-store 대신)
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * @param revision - 조회 대상의 revision. 없는 대상이면 empty 이고 기존 조회 경로의 에러 응답을 따른다.
+     * @return true 면 304 가 설정되었으므로 핸들러는 본문 없이 null 을 반환한다.
+     */
+    static boolean notModified(ServletWebRequest webRequest, Optional<RevisionDto> revision) {
+        if (revision.isEmpty()) {
+            return false;
+        }
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return webRequest.checkNotModified(eTag(revision.get()), lastModified(revision.get()));
+    }
+
+    private static String eTag(RevisionDto revision) {
+        return "W/\"" + revision.getRevision() + "\"";
+    }
+
+    private static long lastModified(RevisionDto revision) {
+        return revision.getRevisedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -35,6 +35,14 @@ public class ControllerSupport {
                 HttpResponseMsg.NO_CONTENT), HttpStatus.BAD_REQUEST);
     }
 
+    // archive 된 방명록 댓글 수정/삭제
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<ApiResponse> handleUnsupportedOperationException(){
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.CONFLICT,
+                HttpResponseMsg.ARCHIVED), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(NoResultException.class)
     public ResponseEntity<ApiResponse> handleNoResultException(){
         return new ResponseEntity<>(ApiResponse.response(
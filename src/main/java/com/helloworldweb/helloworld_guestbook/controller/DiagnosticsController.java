@@ -0,0 +1,84 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.config.MethodMetricsAspect;
+import com.helloworldweb.helloworld_guestbook.config.QueryAttribution;
+import com.helloworldweb.helloworld_guestbook.dto.CacheDiagnosticsDto;
+import com.helloworldweb.helloworld_guestbook.dto.KafkaDiagnosticsDto;
+import com.helloworldweb.helloworld_guestbook.dto.MethodMetricsDto;
+import com.helloworldweb.helloworld_guestbook.dto.QueryDiagnosticsDto;
+import com.helloworldweb.helloworld_guestbook.kafka.UserServerDiagnostics;
+import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
+import com.helloworldweb.helloworld_guestbook.model.HttpResponseMsg;
+import com.helloworldweb.helloworld_guestbook.model.HttpStatusCode;
+import com.helloworldweb.helloworld_guestbook.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+// SQL 원문, 핸들러 이름, offset 등 내부 정보를 보여주므로 /blog/api/diagnostics/** 는 ADMIN 만 호출할 수 있다. (SecurityConfig)
+@Controller
+@RequestMapping("/blog")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final UserServerDiagnostics userServerDiagnostics;
+    private final EntityCacheService entityCacheService;
+    private final QueryAttribution queryAttribution;
+    private final MethodMetricsAspect methodMetricsAspect;
+
+    //user_server 컨슈머 처리량, 지연시간, 파티션별 offset lag 조회
+    @GetMapping("/api/diagnostics/kafka")
+    private ResponseEntity<ApiResponse> getKafkaDiagnostics(){
+        KafkaDiagnosticsDto kafkaDiagnosticsDto = userServerDiagnostics.diagnose();
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.GET_SUCCESS,
+                kafkaDiagnosticsDto), HttpStatus.OK);
+    }
+
+    //Hibernate 2차 캐시 region 별 hit/miss/put 조회
+    @GetMapping("/api/diagnostics/cache")
+    private ResponseEntity<ApiResponse> getCacheDiagnostics(){
+        CacheDiagnosticsDto cacheDiagnosticsDto = entityCacheService.diagnose();
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.GET_SUCCESS,
+                cacheDiagnosticsDto), HttpStatus.OK);
+    }
+
+    //가장 느린 SQL top-N (핸들러, 바인딩 타입 포함)과 요청당 쿼리 예산 조회
+    @GetMapping("/api/diagnostics/queries")
+    private ResponseEntity<ApiResponse> getQueryDiagnostics(){
+        QueryDiagnosticsDto queryDiagnosticsDto = queryAttribution.diagnose();
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.GET_SUCCESS,
+                queryDiagnosticsDto), HttpStatus.OK);
+    }
+
+    //service, repository, kafka.Consumer 메소드별 호출/에러 수와 지연시간 요약 (Prometheus 형식은 /actuator/prometheus 의 app_method_*)
+    @GetMapping("/api/diagnostics/methods")
+    private ResponseEntity<ApiResponse> getMethodDiagnostics(){
+        MethodMetricsDto methodMetricsDto = methodMetricsAspect.summarize();
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.GET_SUCCESS,
+                methodMetricsDto), HttpStatus.OK);
+    }
+
+    //메소드 지표 on/off, 지연시간 sampling 비율(0~1) 변경. 주지 않은 값은 유지
+    @PutMapping("/api/admin/metrics/methods")
+    private ResponseEntity<ApiResponse> configureMethodMetrics(@RequestParam(name = "enabled", required = false) Boolean enabled,
+                                                               @RequestParam(name = "sample_rate", required = false) Double sampleRate){
+        methodMetricsAspect.configure(enabled, sampleRate);
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.UPDATE_SUCCESS,
+                methodMetricsAspect.summarize()), HttpStatus.OK);
+    }
+}
@@ -1,16 +1,20 @@
 package com.helloworldweb.helloworld_guestbook.controller;
 
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentPageDto;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
 import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
 import com.helloworldweb.helloworld_guestbook.model.HttpResponseMsg;
 import com.helloworldweb.helloworld_guestbook.model.HttpStatusCode;
 import com.helloworldweb.helloworld_guestbook.service.GuestBookService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.NoSuchElementException;
 
@@ -31,7 +35,10 @@ public class GuestBookController {
     }
 
     @GetMapping("/api/guestbook")
-    private ResponseEntity<ApiResponse> getGuestBook(@RequestParam(name = "user_id")Long userId){
+    private ResponseEntity<ApiResponse> getGuestBook(@RequestParam(name = "user_id")Long userId, ServletWebRequest webRequest){
+        if (ConditionalGet.notModified(webRequest, guestBookService.getRevision(userId))) {
+            return null;
+        }
         GuestBookDto guestBookDto = guestBookService.getGuestBook(userId);
         return new ResponseEntity<>(ApiResponse.response(
                 HttpStatusCode.GET_SUCCESS,
@@ -39,6 +46,22 @@ public class GuestBookController {
                 guestBookDto), HttpStatus.OK);
     }
 
+    // 최신순 페이지 조회, 오래된 댓글(archive)은 hot 테이블의 마지막 페이지부터 이어서 조회된다.
+    @GetMapping("/api/guestbook/comments")
+    private ResponseEntity<ApiResponse> getGuestBookComments(@RequestParam(name = "user_id")Long userId,
+                                                             @PageableDefault(size=20) Pageable pageable,
+                                                             ServletWebRequest webRequest){
+        // 페이지마다 URL 이 다르므로 방명록 revision 을 그대로 ETag 로 쓴다.
+        if (ConditionalGet.notModified(webRequest, guestBookService.getRevision(userId))) {
+            return null;
+        }
+        GuestBookCommentPageDto guestBookCommentPageDto = guestBookService.getGuestBookComments(userId, pageable);
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.GET_SUCCESS,
+                HttpResponseMsg.GET_SUCCESS,
+                guestBookCommentPageDto), HttpStatus.OK);
+    }
+
     @PutMapping("/api/guestbook")
     private ResponseEntity<ApiResponse> updateGuestBookComment(@RequestBody GuestBookCommentDto guestBookCommentDto){
         GuestBookCommentDto responseDto = guestBookService.updateGuestBookComment(guestBookCommentDto);
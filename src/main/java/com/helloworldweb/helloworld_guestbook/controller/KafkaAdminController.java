@@ -0,0 +1,31 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.kafka.UserServerDeadLetterReplayer;
+import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
+import com.helloworldweb.helloworld_guestbook.model.HttpResponseMsg;
+import com.helloworldweb.helloworld_guestbook.model.HttpStatusCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@RequestMapping("/blog")
+@RequiredArgsConstructor
+public class KafkaAdminController {
+
+    private final UserServerDeadLetterReplayer userServerDeadLetterReplayer;
+
+    //user_server-dlt 에 쌓인 메시지를 user_server 토픽으로 일괄 재전송, 재전송한 메시지 수 반환
+    @PostMapping("/api/admin/kafka/dlt/replay")
+    private ResponseEntity<ApiResponse> replayDeadLetters(@RequestParam(name = "max", defaultValue = "1000") int maxRecords){
+        int replayed = userServerDeadLetterReplayer.replay(maxRecords);
+        return new ResponseEntity<>(ApiResponse.response(
+                HttpStatusCode.OK,
+                HttpResponseMsg.SEND_SUCCESS,
+                replayed), HttpStatus.OK);
+    }
+}
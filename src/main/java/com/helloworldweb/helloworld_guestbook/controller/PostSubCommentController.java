@@ -10,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -41,8 +42,11 @@ public class PostSubCommentController {
     }
 
     @GetMapping("/api/postsubcomment")
-    private ResponseEntity<ApiResponse> getPostSubComment(@RequestParam(name = "postsubcomment_id")Long postSubCommentId)
+    private ResponseEntity<ApiResponse> getPostSubComment(@RequestParam(name = "postsubcomment_id")Long postSubCommentId, ServletWebRequest webRequest)
     {
+        if (ConditionalGet.notModified(webRequest, postSubCommentService.getRevision(postSubCommentId))) {
+            return null;
+        }
         PostSubCommentDto postSubCommentDto = postSubCommentService.getPostSubComment(postSubCommentId);
         return new ResponseEntity<>(ApiResponse.response(
                 HttpStatusCode.OK,
@@ -0,0 +1,49 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
+import com.helloworldweb.helloworld_guestbook.model.HttpResponseMsg;
+import com.helloworldweb.helloworld_guestbook.model.HttpStatusCode;
+import com.helloworldweb.helloworld_guestbook.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+
+// 기존 조회 API 와 같은 응답의 non-blocking 버전 (R2DBC). Mono 를 반환하므로 응답을 기다리는 동안 요청 스레드를 반납한다.
+@Controller
+@RequestMapping("/blog")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/api/reactive/blogpost")
+    private Mono<ResponseEntity<ApiResponse>> getBlogPostById(@RequestParam(name = "blogpost_id") Long blogPostId){
+        return reactiveReadService.getBlogPost(blogPostId)
+                .map((blogPostDto) -> new ResponseEntity<>(ApiResponse.response(
+                        HttpStatusCode.OK,
+                        HttpResponseMsg.GET_SUCCESS, blogPostDto), HttpStatus.OK));
+    }
+
+    @GetMapping("/api/reactive/blogpost/all")
+    private Mono<ResponseEntity<ApiResponse>> getAllBlogPostsByUserId(@RequestParam(name = "user_id") Long userId,
+                                                                      @RequestParam(name = "page", defaultValue = "0") int page,
+                                                                      @RequestParam(name = "size", defaultValue = "10") int size){
+        return reactiveReadService.getAllBlogPosts(userId, page, size)
+                .map((blogPostPageDto) -> new ResponseEntity<>(ApiResponse.response(
+                        HttpStatusCode.OK,
+                        HttpResponseMsg.GET_SUCCESS, blogPostPageDto), HttpStatus.OK));
+    }
+
+    @GetMapping("/api/reactive/guestbook")
+    private Mono<ResponseEntity<ApiResponse>> getGuestBook(@RequestParam(name = "user_id") Long userId){
+        return reactiveReadService.getGuestBook(userId)
+                .map((guestBookDto) -> new ResponseEntity<>(ApiResponse.response(
+                        HttpStatusCode.OK,
+                        HttpResponseMsg.GET_SUCCESS, guestBookDto), HttpStatus.OK));
+    }
+}
@@ -5,30 +5,55 @@ import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// 게시글 헤더(제목, 태그, 조회수 등) 조회가 쓰기보다 훨씬 많으므로 2차 캐시
+// 삭제는 deleted 플래그만 세우고(soft delete) 모든 조회 쿼리에 NOT_DELETED_FILTER 를 건다. 실제 행은 BlogPostPurgeWorker 가 지운다.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@FilterDef(name = BlogPost.NOT_DELETED_FILTER, defaultCondition = "deleted = false")
+@Filter(name = BlogPost.NOT_DELETED_FILTER)
 @NoArgsConstructor
 @Getter
 public class BlogPost extends BaseEntity{
+
+    public static final String NOT_DELETED_FILTER = "notDeletedBlogPost";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blog_post_seq")
+    @SequenceGenerator(name = "blog_post_seq", sequenceName = "blog_post_seq", allocationSize = 50)
     private Long id;
     // 제목
     @NotNull
     private String title;
-    // 내용
+    // 내용, 긴 글은 압축 저장
     @Lob @NotNull
+    @Convert(converter = CompressedContentConverter.class)
     private String content;
     // 태그
     private String tags;
     // 검색횟수
     private Long searchCount = 0L;
-    // 조회수
+    // 조회수, BlogPostViewCounter 가 모아서 DB 에서 올린다. dirty checking 이 덮어쓰지 않도록 updatable = false
+    @Column(updatable = false)
     private Long views = 0L;
+    // 삭제 요청됨, purge 대기
+    private boolean deleted = false;
+    // 게시글, 댓글, 대댓글이 바뀔 때마다 RevisionService 가 DB 에서 올린다. (ETag, Last-Modified 기준)
+    // 엔티티의 값은 2차 캐시에 남아 있을 수 있으므로 읽지 않고, dirty checking 이 덮어쓰지 않도록 updatable = false
+    @Column(updatable = false)
+    private Long revision = 0L;
+    @Column(updatable = false)
+    private LocalDateTime revisedTime = LocalDateTime.now();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -60,10 +85,9 @@ public class BlogPost extends BaseEntity{
         this.content = blogPostDto.getContent();
         this.tags = blogPostDto.getTags();
         this.searchCount = blogPostDto.getSearchCount();
-        this.views = blogPostDto.getViews();
     }
 
-    public void updateView() {
-        this.views = this.views + 1L;
+    public void markDeleted() {
+        this.deleted = true;
     }
 }
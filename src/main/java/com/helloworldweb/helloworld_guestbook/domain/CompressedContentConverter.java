@@ -0,0 +1,99 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * BlogPost.content 압축 저장. COMPRESSION_THRESHOLD 자 이상이고 압축해서 작아지는 경우만 Deflate 로 저장한다.
+ * 컬럼 타입(CLOB)을 바꾸지 않도록 압축 결과는 Base64 로 저장하고, 앞 두 글자를 헤더로 쓴다.
+ *   MARKER + 'D' : Deflate + Base64
+ *   MARKER + 'P' : 원문 (원문 자체가 MARKER 로 시작하는 경우)
+ *   그 외        : 원문 (압축 도입 이전 행, 임계값 미만)
+ */
+@Converter
+public class CompressedContentConverter implements AttributeConverter<String, String> {
+
+    public static final int COMPRESSION_THRESHOLD = 1024;
+    public static final char MARKER = '\u0001';
+    private static final char DEFLATE = 'D';
+    private static final char PLAIN = 'P';
+
+    @Override
+    public String convertToDatabaseColumn(String content) {
+        if (content == null) {
+            return null;
+        }
+        if (content.length() >= COMPRESSION_THRESHOLD) {
+            String encoded = Base64.getEncoder().encodeToString(deflate(content.getBytes(StandardCharsets.UTF_8)));
+            if (encoded.length() + 2 < content.length()) {
+                return "" + MARKER + DEFLATE + encoded;
+            }
+        }
+        if (!content.isEmpty() && content.charAt(0) == MARKER) {
+            return "" + MARKER + PLAIN + content;
+        }
+        return content;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        if (!isEncoded(stored)) {
+            return stored;
+        }
+        switch (stored.charAt(1)) {
+            case DEFLATE:
+                return new String(inflate(Base64.getDecoder().decode(stored.substring(2))), StandardCharsets.UTF_8);
+            case PLAIN:
+                return stored.substring(2);
+            default:
+                throw new IllegalStateException("알 수 없는 content 저장 포맷입니다.");
+        }
+    }
+
+    public static boolean isEncoded(String stored) {
+        return stored != null && stored.length() >= 2 && stored.charAt(0) == MARKER;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 content 가 손상되었습니다.");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 content 가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
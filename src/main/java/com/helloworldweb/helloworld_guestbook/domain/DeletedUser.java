@@ -0,0 +1,32 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * user_server 의 delete 이벤트로 삭제된 유저의 tombstone. User 행이 사라진 뒤에도 삭제 시점의 이벤트 버전을 남겨,
+ * 재시작 이후 replay 된 예전 register/update 가 삭제된 유저를 다시 만들지 않게 한다. (UserVersionRegistry)
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+public class DeletedUser {
+
+    // 삭제된 유저 id
+    @Id
+    private Long id;
+
+    private Long eventVersion;
+
+    private LocalDateTime deletedTime;
+
+    public DeletedUser(Long id, Long eventVersion){
+        this.id = id;
+        this.eventVersion = eventVersion;
+        this.deletedTime = LocalDateTime.now();
+    }
+}
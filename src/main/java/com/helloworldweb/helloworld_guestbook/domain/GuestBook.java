@@ -3,20 +3,32 @@ package com.helloworldweb.helloworld_guestbook.domain;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @NoArgsConstructor
 public class GuestBook {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guest_book_seq")
+    @SequenceGenerator(name = "guest_book_seq", sequenceName = "guest_book_seq", allocationSize = 50)
     private Long id;
 
+    // 방명록 댓글이 바뀔 때마다 RevisionService 가 DB 에서 올린다. (ETag, Last-Modified 기준, BlogPost.revision 참고)
+    @Column(updatable = false)
+    private Long revision = 0L;
+    @Column(updatable = false)
+    private LocalDateTime revisedTime = LocalDateTime.now();
+
     @OneToOne(mappedBy = "guestBook", fetch = FetchType.LAZY)
     private User user;
 
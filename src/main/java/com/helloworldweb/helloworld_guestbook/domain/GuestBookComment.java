@@ -13,7 +13,9 @@ import javax.persistence.*;
 @Getter
 public class GuestBookComment extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guest_book_comment_seq")
+    @SequenceGenerator(name = "guest_book_comment_seq", sequenceName = "guest_book_comment_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
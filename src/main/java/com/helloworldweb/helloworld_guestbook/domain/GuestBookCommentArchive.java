@@ -0,0 +1,56 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * GuestBookCommentArchiver 가 옮긴 오래된 방명록 댓글(cold storage). 읽기 전용.
+ * 원본 id 를 그대로 쓰고, hot 테이블의 index 를 키우지 않도록 연관관계 대신 id 만 저장한다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_guest_book_comment_archive_guest_book", columnList = "guestBookId, id"),
+        @Index(name = "idx_guest_book_comment_archive_user", columnList = "userId")
+})
+@NoArgsConstructor
+@Getter
+public class GuestBookCommentArchive {
+
+    @Id
+    private Long id;
+
+    private Long guestBookId;
+
+    // 작성한 유저
+    private Long userId;
+
+    private String content;
+
+    private String reply;
+
+    private LocalDateTime createdTime;
+
+    private LocalDateTime modifiedTime;
+
+    private LocalDateTime archivedTime;
+
+    @Builder
+    public GuestBookCommentArchive(Long id, Long guestBookId, Long userId, String content, String reply,
+                                   LocalDateTime createdTime, LocalDateTime modifiedTime, LocalDateTime archivedTime){
+        this.id = id;
+        this.guestBookId = guestBookId;
+        this.userId = userId;
+        this.content = content;
+        this.reply = reply;
+        this.createdTime = createdTime;
+        this.modifiedTime = modifiedTime;
+        this.archivedTime = archivedTime;
+    }
+}
@@ -0,0 +1,47 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Transactional outbox. 도메인 변경과 같은 트랜잭션에서 저장되고, OutboxRelay 가 Kafka 로 발행한 뒤 삭제한다.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+public class OutboxEvent extends BaseEntity {
+
+    public enum EventType {
+        BLOG_POST_CREATED, BLOG_POST_UPDATED, BLOG_POST_DELETED,
+        GUESTBOOK_COMMENT_CREATED, GUESTBOOK_COMMENT_UPDATED, GUESTBOOK_COMMENT_DELETED,
+        POST_SUB_COMMENT_CREATED, POST_SUB_COMMENT_UPDATED, POST_SUB_COMMENT_DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    // 이벤트 대상의 ID, Kafka key 로 사용하여 같은 대상의 이벤트 순서를 유지한다.
+    private Long aggregateId;
+
+    @Lob
+    private String payload;
+
+    // 재시도해도 성공할 수 없는 오류(RecordTooLarge 등)로 발행에 실패한 횟수. OutboxRelay 의 max-attempts 에 닿으면 더 발행하지 않는다.
+    private int attempts = 0;
+
+    @Builder
+    public OutboxEvent(Long id, EventType eventType, Long aggregateId, String payload){
+        this.id = id;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+}
@@ -11,7 +11,8 @@ import javax.persistence.*;
 @Getter
 public class PostImage {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_image_seq")
+    @SequenceGenerator(name = "post_image_seq", sequenceName = "post_image_seq", allocationSize = 50)
     private Long id;
 
     private String originalFileName;
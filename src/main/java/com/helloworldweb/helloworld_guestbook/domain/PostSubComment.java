@@ -13,7 +13,8 @@ import javax.persistence.*;
 @Getter
 public class PostSubComment extends BaseEntity {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_sub_comment_seq")
+    @SequenceGenerator(name = "post_sub_comment_seq", sequenceName = "post_sub_comment_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -5,6 +5,9 @@ import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -13,7 +16,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+// user_server 이벤트로만 변경되고 매 요청 조회되므로 2차 캐시
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @Getter
 public class User implements UserDetails {
@@ -31,7 +37,11 @@ public class User implements UserDetails {
     private String profileMusicUrl;
     private String fcm;
 
+    // 마지막으로 반영한 user_server 이벤트 버전. replay/재전송된 메시지의 중복 반영을 막는다.
+    private Long eventVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @Filter(name = BlogPost.NOT_DELETED_FILTER)
     private List<BlogPost> blogPosts = new ArrayList<>();
 
     @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
@@ -77,6 +87,12 @@ public class User implements UserDetails {
         this.fcm = userDto.getFcm();
     }
 
+    public void updateEventVersion(Long eventVersion) {
+        if (eventVersion != null) {
+            this.eventVersion = eventVersion;
+        }
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return null;
@@ -0,0 +1,30 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CacheDiagnosticsDto {
+
+    private boolean statisticsEnabled;
+    private long secondLevelHits;
+    private long secondLevelMisses;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private List<RegionStat> regions;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RegionStat {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        // provider 가 지원하지 않으면 -1
+        private long elementsInMemory;
+        private double hitRatio;
+    }
+}
@@ -1,6 +1,8 @@
 package com.helloworldweb.helloworld_guestbook.dto;
 
 import com.helloworldweb.helloworld_guestbook.domain.GuestBookComment;
+import com.helloworldweb.helloworld_guestbook.domain.GuestBookCommentArchive;
+import com.helloworldweb.helloworld_guestbook.domain.User;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,6 +29,26 @@ public class GuestBookCommentDto {
         this.userDto = new UserDto(guestBookComment.getUser());
     }
 
+    // archive 된 댓글은 작성자를 따로 조회한다. 작성자가 탈퇴했으면 userDto == null
+    public GuestBookCommentDto(GuestBookCommentArchive guestBookCommentArchive, User writer){
+        this.id = guestBookCommentArchive.getId();
+        this.content = guestBookCommentArchive.getContent();
+        this.reply = guestBookCommentArchive.getReply();
+        this.createdTime = guestBookCommentArchive.getCreatedTime();
+        this.modifiedTime = guestBookCommentArchive.getModifiedTime();
+        this.userDto = writer == null ? null : new UserDto(writer);
+    }
+
+    // 엔티티를 거치지 않고 조회한 행으로 만드는 경우 (ReactiveReadRepository)
+    public GuestBookCommentDto(Long id, String content, String reply, LocalDateTime createdTime, LocalDateTime modifiedTime, UserDto userDto){
+        this.id = id;
+        this.content = content;
+        this.reply = reply;
+        this.createdTime = createdTime;
+        this.modifiedTime = modifiedTime;
+        this.userDto = userDto;
+    }
+
     public GuestBookComment toEntity(){
         return GuestBookComment.builder()
                 .id(id)
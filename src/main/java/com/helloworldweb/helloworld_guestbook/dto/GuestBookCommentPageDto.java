@@ -0,0 +1,22 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class GuestBookCommentPageDto {
+
+    private List<GuestBookCommentDto> guestBookCommentDtos = new ArrayList<>();
+    private int pageNum;
+
+    public GuestBookCommentPageDto(List<GuestBookCommentDto> guestBookCommentDtos, int pageNum)
+    {
+        this.guestBookCommentDtos = guestBookCommentDtos;
+        this.pageNum = pageNum;
+    }
+
+}
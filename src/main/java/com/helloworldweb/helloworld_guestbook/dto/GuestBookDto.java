@@ -14,12 +14,24 @@ public class GuestBookDto {
     private Long id;
     private Long userId;
     private List<GuestBookCommentDto> guestBookCommentDtos = new ArrayList<>();
+    // guestBookCommentDtos 에 없는 오래된(archive 로 옮겨진) 댓글 수. 0 보다 크면 /api/guestbook/comments 로 이어서 조회한다.
+    private long archivedCommentCount;
 
-    public GuestBookDto(GuestBook guestBook, List<GuestBookComment> guestBookComments)
+    public GuestBookDto(GuestBook guestBook, List<GuestBookComment> guestBookComments, long archivedCommentCount)
     {
         this.id = guestBook.getId();
         this.userId = guestBook.getUser().getId();
         this.guestBookCommentDtos = guestBookComments.stream().map((gc) -> new GuestBookCommentDto(gc)).collect(Collectors.toList());
+        this.archivedCommentCount = archivedCommentCount;
+    }
+
+    // 엔티티를 거치지 않고 조회한 행으로 만드는 경우 (ReactiveReadRepository)
+    public GuestBookDto(Long id, Long userId, List<GuestBookCommentDto> guestBookCommentDtos, long archivedCommentCount)
+    {
+        this.id = id;
+        this.userId = userId;
+        this.guestBookCommentDtos = guestBookCommentDtos;
+        this.archivedCommentCount = archivedCommentCount;
     }
 
 }
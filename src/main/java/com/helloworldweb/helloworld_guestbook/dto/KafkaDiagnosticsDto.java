@@ -0,0 +1,50 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class KafkaDiagnosticsDto {
+
+    private String groupId;
+    private List<OperationStat> operations;
+    private LatencyStat endToEndLag;
+    private List<PartitionLag> partitions;
+
+    @Getter
+    @AllArgsConstructor
+    public static class OperationStat {
+        private String operation;
+        private long applied;
+        private long skipped;
+        private long failed;
+        private LatencyStat latency;
+    }
+
+    // 단위 ms
+    @Getter
+    @AllArgsConstructor
+    public static class LatencyStat {
+        private long count;
+        private double mean;
+        private double p50;
+        private double p95;
+        private double p99;
+        private double max;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PartitionLag {
+        private int partition;
+        private long endOffset;
+        private long committedOffset;
+        private long lag;
+        // 이 인스턴스에서 처리중인(아직 커밋되지 않은) 레코드
+        private int inFlight;
+        private long lowestPendingOffset;
+    }
+}
@@ -0,0 +1,33 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MethodMetricsDto {
+
+    private boolean enabled;
+    // 지연시간을 측정하는 호출 비율
+    private double sampleRate;
+    // 전체 시간이 큰 순
+    private List<MethodStat> methods;
+
+    @Getter
+    @AllArgsConstructor
+    public static class MethodStat {
+        private String className;
+        private String method;
+        private long calls;
+        private long errors;
+        // 지연시간을 측정한 호출 수
+        private long sampled;
+        // 성공한 호출 기준, 백분위는 histogram 버킷 상한
+        private double meanMillis;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
+    }
+}
@@ -18,4 +18,10 @@ public class PostCommentDto {
         this.postSubCommentDtos = postComment.getPostSubComments().stream().map((p)-> new PostSubCommentDto(p)).collect(Collectors.toList());
 
     }
+
+    // 엔티티를 거치지 않고 조회한 행으로 만드는 경우 (ReactiveReadRepository)
+    public PostCommentDto(Long id, List<PostSubCommentDto> postSubCommentDtos){
+        this.id = id;
+        this.postSubCommentDtos = postSubCommentDtos;
+    }
 }
@@ -34,6 +34,14 @@ public class PostSubCommentDto {
         this.content = content;
     }
 
+    // 엔티티를 거치지 않고 조회한 행으로 만드는 경우 (ReactiveReadRepository). 요청 body 역직렬화에 영향을 주지 않도록 생성자 대신 factory
+    public static PostSubCommentDto of(Long id, Long postCommentId, String content, LocalDateTime createdTime, LocalDateTime modifiedTime, UserDto userDto){
+        PostSubCommentDto postSubCommentDto = new PostSubCommentDto(id, postCommentId, userDto, content);
+        postSubCommentDto.createdTime = createdTime;
+        postSubCommentDto.modifiedTime = modifiedTime;
+        return postSubCommentDto;
+    }
+
     public PostSubComment toEntity(){
         return PostSubComment.builder()
                 .content(this.content)
@@ -0,0 +1,29 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class QueryDiagnosticsDto {
+
+    private int statementBudget;
+    private long timeBudgetMillis;
+    // 느린 순
+    private List<SlowStatement> slowestStatements;
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlowStatement {
+        // 컨트롤러.메소드, 요청 밖(스케줄러, 컨슈머)이면 background
+        private String handler;
+        private String sql;
+        // 바인딩 값 대신 타입만, batch 면 "x 건수"
+        private String bindShape;
+        private long elapsedMillis;
+        private LocalDateTime executedTime;
+    }
+}
@@ -0,0 +1,15 @@
+package com.helloworldweb.helloworld_guestbook.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 조건부 GET 에서 aggregate 를 읽지 않고 비교하기 위한 revision 조회 결과
+@Getter
+@AllArgsConstructor
+public class RevisionDto {
+
+    private Long revision;
+    private LocalDateTime revisedTime;
+}
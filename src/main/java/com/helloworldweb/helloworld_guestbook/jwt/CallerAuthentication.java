@@ -0,0 +1,62 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CallerPrincipal 을 담는 불변 인증 객체. 권한은 관리 API 용 ROLE_ADMIN 만 사용하고, 일반 유저 토큰이면 비어있다.
+ */
+public final class CallerAuthentication implements Authentication {
+
+    private final CallerPrincipal principal;
+    private final String name;
+    private final List<GrantedAuthority> authorities;
+
+    public CallerAuthentication(CallerPrincipal principal) {
+        this(principal, List.of());
+    }
+
+    public CallerAuthentication(CallerPrincipal principal, List<GrantedAuthority> authorities) {
+        this.principal = principal;
+        this.name = String.valueOf(principal.getUserId());
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return "";
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public CallerPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) throws IllegalArgumentException {
+        throw new IllegalArgumentException("CallerAuthentication 은 변경할 수 없습니다.");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,40 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 인증된 요청자. 토큰에서 얻은 user id 와 토큰 만료시각만 가진다.
+ * 불변 객체이므로 검증된 토큰 캐시에서 여러 요청이 같이 사용한다.
+ */
+public final class CallerPrincipal {
+
+    private final Long userId;
+    private final long expiresAt;
+
+    public CallerPrincipal(Long userId, long expiresAt) {
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * SecurityContextHolder 에 저장된 요청자의 user id.
+     * 인증되지 않은 요청(anonymousUser)이면 ClassCastException.
+     */
+    public static Long currentUserId() {
+        CallerPrincipal caller = (CallerPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return caller.getUserId();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CallerPrincipal{userId=" + userId + ", expiresAt=" + expiresAt + "}";
+    }
+}
@@ -3,7 +3,6 @@ package com.helloworldweb.helloworld_guestbook.jwt;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.filter.GenericFilterBean;
 
 import javax.servlet.FilterChain;
@@ -14,11 +13,12 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
 
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends GenericFilterBean {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtTokenService jwtTokenService;
 
     @Override
@@ -31,19 +31,25 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
         Cookie[] cookies = ((HttpServletRequest) request).getCookies();
         String token = null;
         if (cookies != null) {
-            HashMap<String,String> cookieMap = new HashMap<>();
+            // 같은 이름의 쿠키가 여러개면 마지막 값을 사용
             for (Cookie c : cookies) {
-                String key = c.getName();
-                String value = c.getValue();
-                cookieMap.put(key, value);
+                if ("Auth".equals(c.getName())) {
+                    token = c.getValue();
+                }
             }
-            token = cookieMap.get("Auth");
         }
 
 //        String token = jwtTokenService.getTokenByHeader((HttpServletRequest) request);
-        if (token != null && jwtTokenService.validateTokenWithDate(token)) {   // token 검증
-            Authentication auth = jwtTokenService.getAuthentication(token);    // 인증 객체 생성
-            SecurityContextHolder.getContext().setAuthentication(auth); // SecurityContextHolder에 인증 객체 저장
+        // 쿠키가 없는 서비스 호출(Prometheus scrape 등)은 Authorization: Bearer 헤더
+        String authorization = ((HttpServletRequest) request).getHeader("Authorization");
+        if (token == null && authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            token = authorization.substring(BEARER_PREFIX.length());
+        }
+        if (token != null) {
+            Authentication auth = jwtTokenService.authenticate(token);    // token 검증 + 인증 객체 생성 (검증된 토큰은 캐시)
+            if (auth != null) {
+                SecurityContextHolder.getContext().setAuthentication(auth); // SecurityContextHolder에 인증 객체 저장
+            }
         }
         chain.doFilter(request, response);
     }
@@ -2,50 +2,55 @@ package com.helloworldweb.helloworld_guestbook.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import java.security.Key;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 @Service
 public class JwtTokenService {
 
-    private final UserDetailsService userDetailsService;
     private static final long TOKEN_VALID_TIME = 1000L * 60 * 60 * 10; //10시간
+    // 관리 API 권한 (ADMIN), user_server 가 발급한 토큰에 담겨온다.
+    public static final String ROLES_CLAIM = "roles";
 //    private static final long REFRESH_TOKEN_VALID_TIME = 1000L * 60 * 60 * 24 * 14; //2주
     private String secret;
     private Key key;
+    private JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JwtTokenService(
-            UserDetailsService userDetailsService,
-            @Value("${jwt.secret}") String secret) {
-        this.userDetailsService = userDetailsService;
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
         this.secret = secret;
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxEntries);
     }
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        // JwtParser 는 불변, thread-safe 이므로 한번만 만든다.
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
 
     public boolean verifyToken(String jwtToken){
         try{
-            Jws<Claims> claims = Jwts.parser().setSigningKey(key).parseClaimsJws(jwtToken);
+            Jws<Claims> claims = jwtParser.parseClaimsJws(jwtToken);
             System.out.println("claims = " + claims);
             long valid_time = claims.getBody().getExpiration().getTime() - claims.getBody().getIssuedAt().getTime();
             // refresh_token인지 확인
@@ -56,7 +61,14 @@ public class JwtTokenService {
     }
 
     public String createToken(String Id) {
+        return createToken(Id, List.of());
+    }
+
+    public String createToken(String Id, List<String> roles) {
         Claims claims = Jwts.claims().setSubject(Id);
+        if (!roles.isEmpty()) {
+            claims.put(ROLES_CLAIM, roles);
+        }
 
         long now = (new Date()).getTime();
         Date validTime = new Date(now + TOKEN_VALID_TIME);
@@ -69,15 +81,66 @@ public class JwtTokenService {
                 .compact(); // Token 생성
     }
 
-    public Authentication getAuthentication(String token){
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUserId(token));
-        return new UsernamePasswordAuthenticationToken(userDetails,"",userDetails.getAuthorities());
+    /**
+     * 서비스간 호출용 토큰. audience 별로 ServiceCredentialProvider 가 캐시하여 재사용한다.
+     * 유저 토큰과 같은 키로 서명하므로, 들어오는 요청에서는 audience 가 있는 토큰을 거부한다. ({@link #getAuthentication})
+     * @param subject - 숫자 서비스 계정 id (받는 쪽이 유저 토큰과 같이 Long 으로 파싱한다)
+     */
+    public String createServiceToken(String subject, String audience, long issuedAt, long expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setAudience(audience)
+                .setIssuedAt(new Date(issuedAt))
+                .setExpiration(new Date(expiresAt))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * 토큰 검증 + 인증 객체 생성. 한번 검증된 토큰은 만료 전까지 서명 검증, claims 파싱 없이 캐시에서 꺼낸다.
+     * @return 유효하지 않거나 만료된 토큰이면 null
+     */
+    public Authentication authenticate(String token){
+        long now = System.currentTimeMillis();
+        CallerAuthentication authentication = verifiedTokenCache.get(token, now);
+        if (authentication == null) {
+            try {
+                authentication = getAuthentication(token);
+            } catch (Exception e) {
+                return null;
+            }
+            if (authentication.getPrincipal().getExpiresAt() <= now) {
+                return null;
+            }
+            verifiedTokenCache.put(token, authentication);
+        }
+        return authentication;
+    }
+
+    public CallerAuthentication getAuthentication(String token){
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        // 서비스 토큰(sub=0)이 유저 0 으로 인증되지 않도록 한다.
+        if (claims.getAudience() != null) {
+            throw new IllegalArgumentException("서비스 토큰은 유저 인증에 사용할 수 없습니다.");
+        }
+        return new CallerAuthentication(new CallerPrincipal(Long.valueOf(claims.getSubject()), claims.getExpiration().getTime()), authorities(claims));
+    }
+
+    private static List<GrantedAuthority> authorities(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof List)) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (Object role : (List<?>) roles) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        return authorities;
     }
 
     public String getUserId(String token)
     {
-        return Jwts.parser().setSigningKey(key)
-                .parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public String getTokenByHeader(HttpServletRequest request) {
@@ -86,12 +149,7 @@ public class JwtTokenService {
 
     public boolean validateTokenWithDate(String token) {
         try {
-            Claims claims = Jwts
-                    .parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
             return !claims.getExpiration().before(new Date());
         } catch (Exception e) {
             return false;
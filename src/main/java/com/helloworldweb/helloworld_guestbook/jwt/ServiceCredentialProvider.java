@@ -0,0 +1,94 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스간 호출(user server 등)에 사용하는 서명된 토큰을 audience 별로 캐시한다.
+ * 만료 refresh-ahead 전에 백그라운드 스레드가 새 토큰으로 교체하므로 호출하는 쪽은 서명하지 않고 캐시된 토큰만 읽는다.
+ * 캐시가 비었거나(최초 호출) 갱신이 밀려 만료된 경우에만 호출 스레드에서 서명한다.
+ * user_server 는 유저 토큰과 같이 sub 를 user id(Long)로 파싱하므로, subject 는 숫자인 서비스 계정 id 를 쓴다.
+ */
+@Slf4j
+@Component
+public class ServiceCredentialProvider {
+
+    private static final class Credential {
+        private final String token;
+        private final long expiresAt;
+
+        private Credential(String token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final JwtTokenService jwtTokenService;
+    private final String subject;
+    private final long validityMillis;
+    private final long refreshAheadMillis;
+    private final ConcurrentHashMap<String, Credential> credentials = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+
+    public ServiceCredentialProvider(JwtTokenService jwtTokenService,
+                                     @Value("${service-credential.subject:0}") long subject,
+                                     @Value("${service-credential.validity-ms:3600000}") long validityMillis,
+                                     @Value("${service-credential.refresh-ahead-ms:300000}") long refreshAheadMillis,
+                                     @Value("${service-credential.refresh-check-ms:30000}") long refreshCheckMillis) {
+        this.jwtTokenService = jwtTokenService;
+        this.subject = String.valueOf(subject);
+        this.validityMillis = validityMillis;
+        this.refreshAheadMillis = Math.min(refreshAheadMillis, validityMillis / 2);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("service-credential-");
+        threadFactory.setDaemon(true);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.refresher.scheduleWithFixedDelay(this::refreshExpiring, refreshCheckMillis, refreshCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param audience - 호출 대상 서비스
+     * @return audience 용으로 서명된, 만료되지 않은 토큰
+     */
+    public String getToken(String audience) {
+        Credential credential = credentials.get(audience);
+        if (credential != null && credential.expiresAt > System.currentTimeMillis()) {
+            return credential.token;
+        }
+        // 같은 audience 에 대한 동시 요청은 compute 로 직렬화되어 한번만 서명한다.
+        return credentials.compute(audience, (key, current) ->
+                current != null && current.expiresAt > System.currentTimeMillis() ? current : sign(key)).token;
+    }
+
+    private void refreshExpiring() {
+        try {
+            long refreshBefore = System.currentTimeMillis() + refreshAheadMillis;
+            for (String audience : credentials.keySet()) {
+                credentials.computeIfPresent(audience, (key, current) ->
+                        current.expiresAt <= refreshBefore ? sign(key) : current);
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도, 그 사이 만료되면 getToken 이 직접 서명한다.
+            log.warn("서비스 토큰 갱신 실패", e);
+        }
+    }
+
+    private Credential sign(String audience) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + validityMillis;
+        return new Credential(jwtTokenService.createServiceToken(subject, audience, now, expiresAt), expiresAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,81 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서명 검증이 끝난 토큰의 인증 객체(CallerPrincipal: user id, 만료시각)를 보관한다. 토큰 원문 대신 SHA-256 digest 를 key 로 사용한다.
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목 하나만 지운다. (access-order LinkedHashMap, LRU)
+ * 조회도 순서를 바꾸므로 lock 이 필요하고, 요청 스레드가 virtual thread 일 수 있어 synchronized 대신 ReentrantLock 을 쓴다.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final LinkedHashMap<String, CallerAuthentication> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    VerifiedTokenCache(int maxEntries) {
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CallerAuthentication> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // 만료된 항목은 없는 것으로 취급하고 지운다.
+    CallerAuthentication get(String token, long now) {
+        String digest = digest(token);
+        lock.lock();
+        try {
+            CallerAuthentication authentication = entries.get(digest);
+            if (authentication == null) {
+                return null;
+            }
+            if (authentication.getPrincipal().getExpiresAt() <= now) {
+                entries.remove(digest);
+                return null;
+            }
+            return authentication;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(String token, CallerAuthentication authentication) {
+        String digest = digest(token);
+        lock.lock();
+        try {
+            entries.put(digest, authentication);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+}
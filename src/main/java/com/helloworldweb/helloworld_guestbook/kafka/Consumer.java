@@ -1,109 +1,86 @@
 package com.helloworldweb.helloworld_guestbook.kafka;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.service.EntityCacheService;
 import com.helloworldweb.helloworld_guestbook.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
 public class Consumer {
 
     private final UserService userService;
+    private final UserVersionRegistry userVersionRegistry;
+    private final UserServerDispatcher userServerDispatcher;
+    private final UserServerFailureHandler userServerFailureHandler;
+    private final UserServerMetrics userServerMetrics;
+    private final EntityCacheService entityCacheService;
+
+
+    // value 는 UserServerMessageDeserializer 에서 한번만 파싱된다. 파싱 실패시 ErrorHandlingDeserializer 가 ErrorHandler 로 전달.
+    // 실제 반영은 UserServerDispatcher 의 유저별 lane 에서 이루어지고, ack 은 완료된 offset 까지만 커밋된다.
+    // 실패한 메시지는 retry 토픽/DLT 로 넘기고 완료 처리하여 파티션을 막지 않는다.
+    @KafkaListener(topics = "user_server", properties = {
+            "value.deserializer=org.springframework.kafka.support.serializer.ErrorHandlingDeserializer",
+            "spring.deserializer.value.delegate.class=com.helloworldweb.helloworld_guestbook.kafka.UserServerMessageDeserializer"})
+    public void userServerListener(ConsumerRecord<String, UserServerMessage> record, Acknowledgment ack) throws InterruptedException {
+        UserServerMessage message = record.value();
+        userServerDispatcher.dispatch(new TopicPartition(record.topic(), record.partition()), record.offset(), record.timestamp(),
+                message.getId(), ack, () -> applyOrHandOff(record, 1));
+    }
 
+    // retry 단계 토픽 listener (UserServerRetryContainers 가 단계마다 container 를 띄운다).
+    // 한 단계 안의 레코드는 due 순서이므로 맨 앞 레코드가 due 전이면 nack 으로 이 단계 container 만 그만큼 멈췄다가 다시 읽는다.
+    // due 가 된 레코드는 원래 토픽과 같은 유저별 lane 에서 반영해, 같은 유저의 다른 메시지와 동시에 반영되지 않는다.
+    public void userServerRetryListener(ConsumerRecord<String, UserServerMessage> record, Acknowledgment ack) throws InterruptedException {
+        long waitMillis = userServerFailureHandler.dueAt(record) - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            ack.nack(Duration.ofMillis(waitMillis));
+            return;
+        }
+        int attempt = userServerFailureHandler.previousAttempts(record) + 1;
+        userServerDispatcher.dispatch(new TopicPartition(record.topic(), record.partition()), record.offset(), record.timestamp(),
+                record.value().getId(), ack, () -> applyOrHandOff(record, attempt));
+    }
 
-    @KafkaListener(topics = "user_server")
-    public void userServerListener(String dtoString, Acknowledgment ack){
+    private void applyOrHandOff(ConsumerRecord<String, UserServerMessage> record, int attempt){
+        try {
+            apply(record.value());
+        } catch (RuntimeException e) {
+            userServerMetrics.recordFailed(record.value().getOperation());
+            userServerFailureHandler.handle(record, attempt, e);
+        }
+    }
 
-        String op = getOpertaion(dtoString);
+    private void apply(UserServerMessage message){
+        // replay, 재전송으로 이미 반영된 버전이 다시 들어온 경우 DB 접근 없이 skip.
+        if (userVersionRegistry.isStale(message.getId(), message.getVersion())) {
+            userServerMetrics.recordSkipped(message.getOperation());
+            return;
+        }
 
-        switch (op){
+        long start = System.nanoTime();
+        // register, update 모두 조건부 upsert 로 반영. (중복 register 에도 key 중복 없음, SyncService 호출 없음)
+        switch (message.getOperation()){
             case "register":
-                userService.addUser(messageToUserDto(dtoString));
-                break;
             case "update":
-                userService.updateUser(messageToUserDto(dtoString));
+                userService.upsertUser(message.toUserDto(), message.getVersion());
                 break;
             case "delete":
-                userService.deleteUser(getId(dtoString));
+                userService.deleteUser(message.getId(), message.getVersion());
                 break;
             default:
                 throw new IllegalArgumentException("존재하지 않는 작업입니다.");
         }
-        ack.acknowledge();
-
-    }
-
-//
-//    @KafkaListener(topics = "user_update", groupId = "user_update_guestbook")
-//    public void userUpdateListener(String dtoString, Acknowledgment ack){
-//        userService.updateUser(messageToUserDto(dtoString));
-//        ack.acknowledge();
-//
-//    }
-//
-//    @KafkaListener(topics = "user_delete", groupId = "user_delete_guestbook")
-//    public void userDeleteListener(String dtoString, Acknowledgment ack){
-//        userService.deleteUser(messageToUserDto(dtoString).getId());
-//        ack.acknowledge();
-//
-//    }
-
-    private UserDto messageToUserDto(String jsonString ){
-        JsonParser jsonParser = new JsonParser();
-        JsonElement element = jsonParser.parse(jsonString);
-        JsonObject object = element.getAsJsonObject();
-
-        Long id = object.get("id").getAsLong();
-        String email = object.has("email") ? object.get("email").getAsString(): null;
-        String socialAccountId = object.has("socialAccountId")? object.get("socialAccountId").getAsString():null;
-        String nickName = object.has("nickName")? object.get("nickName").getAsString():null;
-        String profileUrl = object.has("profileUrl")?object.get("profileUrl").getAsString():null;
-        String repoUrl = object.has("repoUrl") ? object.get("repoUrl").getAsString() : null;
-        String profileMusicName = object.has("profileMusicName")?object.get("profileMusicName").getAsString():null;
-        String profileMusicUrl = object.has("profileMusicUrl")? object.get("profileMusicUrl").getAsString():null;
-        String fcm = object.has("fcm")?object.get("fcm").getAsString():null;
-
-        UserDto userDto = UserDto.builder()
-                .id(id)
-                .email(email)
-                .socialAccountId(socialAccountId)
-                .nickName(nickName)
-                .profileUrl(profileUrl)
-                .repoUrl(repoUrl)
-                .profileMusicUrl(profileMusicUrl)
-                .profileMusicName(profileMusicName)
-                .fcm(fcm)
-                .build();
-
-        return userDto;
-    }
-
-    private String getOpertaion(String jsonString)
-    {
-        JsonParser jsonParser = new JsonParser();
-        JsonElement element = jsonParser.parse(jsonString);
-        JsonObject object = element.getAsJsonObject();
-
-        return object.get("operation").getAsString();
-
-    }
-
-    private Long getId(String jsonString){
-        JsonParser jsonParser = new JsonParser();
-        JsonElement element = jsonParser.parse(jsonString);
-        JsonObject object = element.getAsJsonObject();
-
-        return object.get("Id").getAsLong();
+        // upsert/delete 트랜잭션이 커밋된 뒤이므로 바로 비운다.
+        entityCacheService.evictUser(message.getId());
+        userVersionRegistry.markApplied(message.getId(), message.getVersion());
+        userServerMetrics.recordApplied(message.getOperation(), System.nanoTime() - start);
     }
-
-
 }
@@ -0,0 +1,203 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
+import com.helloworldweb.helloworld_guestbook.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 테이블을 batch 단위로 읽어 Kafka 로 발행하고, 발행이 확인된 행을 삭제한다.
+ * 발행 후 삭제 전에 죽으면 다음 실행에서 다시 발행되므로(at-least-once) 소비자는 event-id 헤더로 중복을 걸러야 한다.
+ * producer 는 idempotence + acks=all 로 설정해 재전송으로 인한 중복/순서 뒤바뀜을 막는다.
+ * broker 장애처럼 재시도하면 되는 오류는 행을 그대로 두고 다음 주기에 다시 발행한다. (뒤 이벤트도 같이 기다린다)
+ * RecordTooLarge 처럼 재시도해도 실패하는 이벤트는 시도 횟수를 올리고, max-attempts 에 닿으면 outbox 에 남겨둔 채 더 발행하지 않는다.
+ * (뒤 이벤트가 막히지 않는 대신 같은 aggregate 의 뒤 이벤트가 먼저 발행될 수 있다. outbox.parked 지표와 에러 로그로 확인)
+ * 행을 점유(claim)하지 않으므로 relay 는 인스턴스 하나에서만 돌아야 한다. 여러 인스턴스가 같은 행을 발행/삭제하면 중복 발행되고 aggregate 순서도 깨진다.
+ * 여러 인스턴스로 띄울 때는 한 인스턴스만 남기고 outbox.relay.enabled=false 로 끈다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    public static final String EVENT_ID_HEADER = "event-id";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DefaultKafkaProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final boolean enabled;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final Timer publishLatency;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       PlatformTransactionManager transactionManager,
+                       KafkaProperties kafkaProperties,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.topic:blog_events}") String topic,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:3}") int maxAttempts,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.linger-ms:20}") int lingerMillis,
+                       @Value("${outbox.relay.producer-batch-bytes:65536}") int producerBatchBytes) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topic = topic;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.enabled = enabled;
+
+        // 기본 KafkaTemplate 빈을 대체하지 않도록 relay 전용 producer 를 직접 만든다.
+        Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties();
+        producerProperties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProperties.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerProperties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMillis);
+        producerProperties.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchBytes);
+        this.producerFactory = new DefaultKafkaProducerFactory<>(producerProperties, new StringSerializer(), new StringSerializer());
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        Gauge.builder("outbox.depth", depth, AtomicLong::get)
+                .description("발행 대기중인 outbox 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("max-attempts 에 닿아 발행을 멈춘 outbox 이벤트 수")
+                .register(meterRegistry);
+        this.publishLatency = Timer.builder("outbox.publish.latency")
+                .description("outbox 저장부터 Kafka 발행 확인까지 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}", initialDelayString = "${outbox.relay.initial-delay-ms:0}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxEventRepository.findBatch(maxAttempts, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<OutboxEvent, Throwable> failures = publish(batch);
+                List<Long> published = batch.stream().filter((event) -> !failures.containsKey(event)).map(OutboxEvent::getId).collect(Collectors.toList());
+                List<OutboxEvent> rejected = failures.entrySet().stream().filter((failure) -> !isRetriable(failure.getValue()))
+                        .map(Map.Entry::getKey).collect(Collectors.toList());
+                List<Long> rejectedIds = rejected.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+                transactionTemplate.executeWithoutResult((status) -> {
+                    if (!published.isEmpty()) {
+                        outboxEventRepository.deleteByIds(published);
+                    }
+                    if (!rejectedIds.isEmpty()) {
+                        outboxEventRepository.incrementAttempts(rejectedIds);
+                    }
+                });
+                rejected.stream().filter((event) -> event.getAttempts() + 1 >= maxAttempts).forEach((event) ->
+                        log.error("outbox 이벤트 {}({}) 를 {}번 발행하지 못해 더 발행하지 않습니다.", event.getId(), event.getEventType(), maxAttempts, failures.get(event)));
+                if (!failures.isEmpty()) {
+                    // 실패한 이벤트는 다음 주기에 다시 발행한다.
+                    log.warn("outbox 이벤트 {}건 발행 실패, 다음 주기에 재시도합니다.", failures.size(), failures.values().iterator().next());
+                    break;
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            // 남은 행은 다음 실행에서 다시 발행한다.
+            log.warn("outbox 발행 실패, 다음 주기에 재시도합니다.", e);
+        } finally {
+            depth.set(outboxEventRepository.countByAttemptsLessThan(maxAttempts));
+            parked.set(outboxEventRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+        }
+    }
+
+    // batch 전체를 send 한 뒤 한번에 기다려 linger/batch 설정이 실제로 묶어 보낼 수 있게 한다. 발행하지 못한 이벤트와 원인을 돌려준다.
+    private Map<OutboxEvent, Throwable> publish(List<OutboxEvent> batch) {
+        Map<OutboxEvent, Throwable> failures = new IdentityHashMap<>();
+        List<ListenableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            String key = event.getAggregateId() == null ? null : String.valueOf(event.getAggregateId());
+            ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, event.getPayload());
+            record.headers().add(EVENT_ID_HEADER, String.valueOf(event.getId()).getBytes(StandardCharsets.UTF_8));
+            record.headers().add(EVENT_TYPE_HEADER, event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+            try {
+                futures.add(kafkaTemplate.send(record));
+            } catch (RuntimeException e) {
+                futures.add(null);
+                failures.put(event, e);
+            }
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i) == null) {
+                continue;
+            }
+            try {
+                futures.get(i).get(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("outbox 발행이 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                failures.put(batch.get(i), e.getCause());
+                continue;
+            } catch (TimeoutException e) {
+                failures.put(batch.get(i), e);
+                continue;
+            }
+            LocalDateTime createdTime = batch.get(i).getCreatedTime();
+            if (createdTime != null) {
+                publishLatency.record(Duration.between(createdTime, LocalDateTime.now()));
+            }
+        }
+        return failures;
+    }
+
+    // KafkaTemplate 이 KafkaProducerException 으로 감싸므로 원인을 따라가며 본다. 발행 확인을 기다리다 시간이 지난 경우도 재시도 대상
+    private static boolean isRetriable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        producerFactory.destroy();
+    }
+}
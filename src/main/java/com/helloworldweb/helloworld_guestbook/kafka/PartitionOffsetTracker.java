@@ -0,0 +1,86 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 파티션의 처리중인 offset 들을 관리한다.
+ * 레코드가 순서와 상관없이 완료되어도, 앞에서부터 연속으로 완료된 마지막 레코드까지만 ack 한다.
+ * (ack 된 레코드의 offset + 1 이 커밋되므로 아직 처리중인 레코드를 건너뛰어 커밋하지 않는다.)
+ * lane 이 virtual thread 일 수 있으므로 synchronized(monitor 대기시 carrier pinning) 대신 ReentrantLock 을 쓴다.
+ */
+class PartitionOffsetTracker {
+
+    private final TreeMap<Long, Entry> pending = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final UserServerMetrics userServerMetrics;
+
+    PartitionOffsetTracker(UserServerMetrics userServerMetrics) {
+        this.userServerMetrics = userServerMetrics;
+    }
+
+    void register(long offset, long timestamp, Acknowledgment ack) {
+        lock.lock();
+        try {
+            pending.put(offset, new Entry(ack, timestamp));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void complete(long offset) {
+        Acknowledgment committable = null;
+        lock.lock();
+        try {
+            Entry entry = pending.get(offset);
+            if (entry == null) {
+                return;
+            }
+            entry.done = true;
+            Map.Entry<Long, Entry> head;
+            while ((head = pending.firstEntry()) != null && head.getValue().done) {
+                committable = head.getValue().ack;
+                userServerMetrics.recordEndToEndLag(head.getValue().timestamp);
+                pending.pollFirstEntry();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // MANUAL ack 은 consumer thread 의 다음 poll 때 커밋된다.
+        if (committable != null) {
+            committable.acknowledge();
+        }
+    }
+
+    long lowestPendingOffset() {
+        lock.lock();
+        try {
+            return pending.isEmpty() ? -1L : pending.firstKey();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Entry {
+        private final Acknowledgment ack;
+        private final long timestamp;
+        private boolean done;
+
+        private Entry(Acknowledgment ack, long timestamp) {
+            this.ack = ack;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * user_server-dlt 에 쌓인 메시지를 user_server 토픽으로 다시 보낸다. (원인 수정 이후 일괄 재처리용)
+ * 재전송한 위치까지 replay 전용 group 으로 커밋하므로, 같은 메시지를 두번 보내지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserServerDeadLetterReplayer {
+
+    private static final String REPLAY_GROUP_ID = "guestbook-user-server-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    /**
+     * @param maxRecords - 한번에 재전송할 최대 메시지 수
+     * @return 재전송한 메시지 수
+     */
+    public int replay(int maxRecords) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.max(1, Math.min(maxRecords, 500))));
+
+        int replayed = 0;
+        try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
+                     consumerFactory.createConsumer(REPLAY_GROUP_ID, "guestbook", "-dlt-replay", overrides)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(UserServerFailureHandler.DLT_TOPIC).stream()
+                    .map((PartitionInfo p) -> new TopicPartition(p.topic(), p.partition()))
+                    .collect(Collectors.toList());
+            consumer.assign(partitions);
+
+            while (replayed < maxRecords) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                Set<TopicPartition> rewound = new HashSet<>();
+                for (ConsumerRecord<String, String> record : records) {
+                    if (replayed >= maxRecords) {
+                        // 보내지 않은 첫 레코드부터 다시 읽도록 파티션별로 위치를 되돌린다.
+                        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                        if (rewound.add(partition)) {
+                            consumer.seek(partition, record.offset());
+                        }
+                        continue;
+                    }
+                    kafkaTemplate.send(new ProducerRecord<>("user_server", record.key(), record.value()));
+                    replayed++;
+                }
+                kafkaTemplate.flush();
+                consumer.commitSync();
+            }
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,63 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.dto.KafkaDiagnosticsDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * user_server 토픽의 파티션별 offset lag(log end offset - 커밋된 offset)과 처리 지표를 모은다.
+ * 조회할 때만 별도 consumer 로 end offset/committed offset 을 읽는다. (group 에 join 하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class UserServerDiagnostics {
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaProperties kafkaProperties;
+    private final UserServerDispatcher userServerDispatcher;
+    private final UserServerMetrics userServerMetrics;
+
+    public KafkaDiagnosticsDto diagnose() {
+        String groupId = kafkaProperties.getConsumer().getGroupId();
+        List<KafkaDiagnosticsDto.PartitionLag> partitionLags = new ArrayList<>();
+
+        try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
+                     consumerFactory.createConsumer(groupId, "guestbook", "-diagnostics")) {
+            List<TopicPartition> partitions = consumer.partitionsFor("user_server").stream()
+                    .map((p) -> new TopicPartition(p.topic(), p.partition()))
+                    .sorted(Comparator.comparingInt(TopicPartition::partition))
+                    .collect(Collectors.toList());
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+
+            for (TopicPartition partition : partitions) {
+                long endOffset = endOffsets.getOrDefault(partition, 0L);
+                OffsetAndMetadata committedOffset = committed.get(partition);
+                long committedValue = committedOffset == null ? 0L : committedOffset.offset();
+                partitionLags.add(new KafkaDiagnosticsDto.PartitionLag(
+                        partition.partition(),
+                        endOffset,
+                        committedValue,
+                        Math.max(0L, endOffset - committedValue),
+                        userServerDispatcher.pendingCount(partition),
+                        userServerDispatcher.lowestPendingOffset(partition)));
+            }
+        }
+
+        return new KafkaDiagnosticsDto(groupId,
+                userServerMetrics.operationStats(),
+                userServerMetrics.endToEndLagStat(),
+                partitionLags);
+    }
+}
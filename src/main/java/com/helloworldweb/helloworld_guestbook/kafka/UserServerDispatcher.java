@@ -0,0 +1,99 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.config.VirtualThreads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * user_server 레코드를 user id 기준으로 N개의 lane 에 나누어 병렬 처리한다.
+ * 같은 유저의 레코드는 항상 같은 lane(단일 스레드)에서 순서대로 처리되고, lane 끼리는 병렬로 처리된다.
+ * offset 은 파티션별로 앞에서부터 연속으로 완료된 레코드까지만 커밋한다.
+ */
+@Slf4j
+@Component
+public class UserServerDispatcher {
+
+    private final ExecutorService[] lanes;
+    private final Semaphore inFlight;
+    private final Map<TopicPartition, PartitionOffsetTracker> trackers = new ConcurrentHashMap<>();
+    private final UserServerMetrics userServerMetrics;
+
+    public UserServerDispatcher(UserServerMetrics userServerMetrics,
+                                MeterRegistry meterRegistry,
+                                @Value("${kafka.user-server.lanes:8}") int laneCount,
+                                @Value("${kafka.user-server.max-in-flight:1000}") int maxInFlight) {
+        this.userServerMetrics = userServerMetrics;
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            // lane 마다 단일 스레드, 지원되는 JVM 이면 virtual thread
+            lanes[i] = Executors.newSingleThreadExecutor(VirtualThreads.threadFactory("user-server-lane-" + i + "-"));
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+        Gauge.builder("user_server.in_flight", inFlight, (semaphore) -> maxInFlight - semaphore.availablePermits())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 레코드를 userId 의 lane 에 넣는다. 처리중인 레코드가 max-in-flight 만큼 쌓여있으면 consumer thread 를 대기시킨다.
+     */
+    public void dispatch(TopicPartition partition, long offset, long timestamp, Long userId, Acknowledgment ack, Runnable task) throws InterruptedException {
+        PartitionOffsetTracker tracker = trackers.computeIfAbsent(partition, (p) -> new PartitionOffsetTracker(userServerMetrics));
+        inFlight.acquire();
+        tracker.register(offset, timestamp, ack);
+        lanes[laneOf(userId)].execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 실패한 레코드 때문에 파티션 커밋이 멈추지 않도록 완료 처리한다.
+                log.error("user_server 레코드 처리 실패 partition={} offset={} userId={}", partition, offset, userId, e);
+            } finally {
+                tracker.complete(offset);
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * 파티션별 아직 완료되지 않은 가장 낮은 offset, 처리중인 레코드가 없으면 -1
+     */
+    public long lowestPendingOffset(TopicPartition partition) {
+        PartitionOffsetTracker tracker = trackers.get(partition);
+        return tracker == null ? -1L : tracker.lowestPendingOffset();
+    }
+
+    public int pendingCount(TopicPartition partition) {
+        PartitionOffsetTracker tracker = trackers.get(partition);
+        return tracker == null ? 0 : tracker.pendingCount();
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    private int laneOf(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
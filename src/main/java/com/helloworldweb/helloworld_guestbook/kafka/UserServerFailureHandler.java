@@ -0,0 +1,136 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * user_server 메시지 처리 실패시 retry 토픽 혹은 DLT 로 보낸다.
+ * retry 토픽은 backoff 단계(지수 backoff)마다 하나씩 두어(user_server-retry-0, -1, ...) 한 토픽 안의 레코드가 due 시각 순서로 쌓이게 한다.
+ * 실패한 레코드는 원래 파티션을 막지 않고 ack 되며, 단계별 retry 토픽은 UserServerRetryContainers 가 due 시각 이후 다시 처리한다.
+ */
+@Slf4j
+@Component
+public class UserServerFailureHandler {
+
+    public static final String RETRY_TOPIC_PREFIX = "user_server-retry-";
+    public static final String DLT_TOPIC = "user_server-dlt";
+    public static final String RETRY_ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String RETRY_DUE_HEADER = "x-retry-due";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+
+    public UserServerFailureHandler(KafkaTemplate<String, String> kafkaTemplate,
+                                    @Value("${kafka.user-server.retry.max-attempts:4}") int maxAttempts,
+                                    @Value("${kafka.user-server.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+                                    @Value("${kafka.user-server.retry.multiplier:2.0}") double multiplier,
+                                    @Value("${kafka.user-server.retry.max-backoff-ms:60000}") long maxBackoffMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.multiplier = multiplier;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * @param record - 실패한 레코드 (user_server 혹은 retry 토픽)
+     * @param attempt - 지금까지 시도한 횟수(이번 실패 포함, 1부터)
+     * @param cause - 실패 원인
+     */
+    public void handle(ConsumerRecord<String, UserServerMessage> record, int attempt, Exception cause) {
+        if (isRetryable(cause) && attempt < maxAttempts) {
+            ProducerRecord<String, String> retry = new ProducerRecord<>(retryTopic(attempt), record.key(), record.value().payloadAsString());
+            retry.headers().add(RETRY_ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(attempt).array());
+            retry.headers().add(RETRY_DUE_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(System.currentTimeMillis() + backoffMillis(attempt)).array());
+            addFailureHeaders(retry, record, cause);
+            send(retry);
+        } else {
+            log.warn("user_server 메시지 DLT 전송 topic={} offset={} attempt={} cause={}", record.topic(), record.offset(), attempt, cause.toString());
+            ProducerRecord<String, String> deadLetter = new ProducerRecord<>(DLT_TOPIC, record.key(), record.value().payloadAsString());
+            deadLetter.headers().add(RETRY_ATTEMPT_HEADER, ByteBuffer.allocate(Integer.BYTES).putInt(attempt).array());
+            addFailureHeaders(deadLetter, record, cause);
+            send(deadLetter);
+        }
+    }
+
+    /**
+     * attempt 번째 시도가 실패한 레코드가 갈 retry 토픽. (단계마다 backoff 가 고정)
+     */
+    public String retryTopic(int attempt) {
+        return RETRY_TOPIC_PREFIX + (attempt - 1);
+    }
+
+    /**
+     * 모든 retry 단계 토픽 (max-attempts - 1 개)
+     */
+    public List<String> retryTopics() {
+        List<String> topics = new ArrayList<>();
+        for (int attempt = 1; attempt < maxAttempts; attempt++) {
+            topics.add(retryTopic(attempt));
+        }
+        return topics;
+    }
+
+    /**
+     * retry 토픽 레코드에 기록된 이전 시도 횟수, 원래 토픽 레코드는 0
+     */
+    public int previousAttempts(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(RETRY_ATTEMPT_HEADER);
+        return header == null ? 0 : ByteBuffer.wrap(header.value()).getInt();
+    }
+
+    /**
+     * retry 토픽 레코드를 다시 처리해도 되는 시각(epoch millis)
+     */
+    public long dueAt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(RETRY_DUE_HEADER);
+        return header == null ? 0L : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    long backoffMillis(int attempt) {
+        double backoff = initialBackoffMillis * Math.pow(multiplier, attempt - 1);
+        return (long) Math.min(backoff, maxBackoffMillis);
+    }
+
+    // 존재하지 않는 작업 등 메시지 자체가 잘못된 경우 재시도해도 소용이 없다.
+    private boolean isRetryable(Exception cause) {
+        return !(cause instanceof IllegalArgumentException);
+    }
+
+    private void addFailureHeaders(ProducerRecord<String, String> target, ConsumerRecord<?, ?> source, Exception cause) {
+        target.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        target.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        target.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, source.topic().getBytes(StandardCharsets.UTF_8));
+        target.headers().add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(source.partition()).array());
+        target.headers().add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(source.offset()).array());
+    }
+
+    // 전송이 확인되어야 원래 레코드를 완료(ack) 처리할 수 있으므로 결과를 기다린다. (실패 경로에서만 호출)
+    private void send(ProducerRecord<String, String> producerRecord) {
+        try {
+            kafkaTemplate.send(producerRecord).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("retry/DLT 전송이 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("retry/DLT 전송에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * user_server 토픽 메시지. JsonReader(streaming)로 한번만 파싱하고, 트리(JsonObject)를 만들지 않는다.
+ */
+@Getter
+public class UserServerMessage {
+
+    private final String operation;
+    private final Long id;
+    // user server 에서 유저별로 증가시키는 이벤트 버전. 구버전 메시지에는 없을 수 있다.
+    private final Long version;
+    private final String email;
+    private final String socialAccountId;
+    private final String nickName;
+    private final String profileUrl;
+    private final String repoUrl;
+    private final String profileMusicName;
+    private final String profileMusicUrl;
+    private final String fcm;
+    // 원본 메시지. retry/DLT 토픽으로 그대로 다시 보낼 때 사용한다.
+    private final byte[] payload;
+
+    private UserServerMessage(byte[] payload, String operation, Long id, Long version, String email, String socialAccountId, String nickName, String profileUrl,
+                              String repoUrl, String profileMusicName, String profileMusicUrl, String fcm) {
+        this.payload = payload;
+        this.operation = operation;
+        this.id = id;
+        this.version = version;
+        this.email = email;
+        this.socialAccountId = socialAccountId;
+        this.nickName = nickName;
+        this.profileUrl = profileUrl;
+        this.repoUrl = repoUrl;
+        this.profileMusicName = profileMusicName;
+        this.profileMusicUrl = profileMusicUrl;
+        this.fcm = fcm;
+    }
+
+    public static UserServerMessage decode(byte[] data) throws IOException {
+        return decode(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8), data);
+    }
+
+    public static UserServerMessage decode(String jsonString) throws IOException {
+        return decode(new StringReader(jsonString), jsonString.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserServerMessage decode(Reader source, byte[] payload) throws IOException {
+        String operation = null;
+        Long id = null;
+        Long version = null;
+        String email = null;
+        String socialAccountId = null;
+        String nickName = null;
+        String profileUrl = null;
+        String repoUrl = null;
+        String profileMusicName = null;
+        String profileMusicUrl = null;
+        String fcm = null;
+
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "operation":
+                        operation = reader.nextString();
+                        break;
+                    // register/update 는 "id", delete 는 "Id" 로 전송된다.
+                    case "id":
+                    case "Id":
+                        id = reader.nextLong();
+                        break;
+                    case "version":
+                        version = reader.nextLong();
+                        break;
+                    case "email":
+                        email = reader.nextString();
+                        break;
+                    case "socialAccountId":
+                        socialAccountId = reader.nextString();
+                        break;
+                    case "nickName":
+                        nickName = reader.nextString();
+                        break;
+                    case "profileUrl":
+                        profileUrl = reader.nextString();
+                        break;
+                    case "repoUrl":
+                        repoUrl = reader.nextString();
+                        break;
+                    case "profileMusicName":
+                        profileMusicName = reader.nextString();
+                        break;
+                    case "profileMusicUrl":
+                        profileMusicUrl = reader.nextString();
+                        break;
+                    case "fcm":
+                        fcm = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        if (operation == null || id == null) {
+            throw new IllegalArgumentException("operation, id 가 없는 메시지입니다.");
+        }
+        return new UserServerMessage(payload, operation, id, version, email, socialAccountId, nickName, profileUrl,
+                repoUrl, profileMusicName, profileMusicUrl, fcm);
+    }
+
+    public String payloadAsString() {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    public UserDto toUserDto() {
+        return UserDto.builder()
+                .id(id)
+                .email(email)
+                .socialAccountId(socialAccountId)
+                .nickName(nickName)
+                .profileUrl(profileUrl)
+                .repoUrl(repoUrl)
+                .profileMusicUrl(profileMusicUrl)
+                .profileMusicName(profileMusicName)
+                .fcm(fcm)
+                .build();
+    }
+}
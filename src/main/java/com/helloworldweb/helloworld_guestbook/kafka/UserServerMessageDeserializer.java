@@ -0,0 +1,25 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * user_server 토픽 value Deserializer. Listener 에는 파싱이 끝난 UserServerMessage 가 전달된다.
+ * 파싱 실패는 ErrorHandlingDeserializer 가 감싸서 컨테이너 ErrorHandler 로 넘긴다.
+ */
+public class UserServerMessageDeserializer implements Deserializer<UserServerMessage> {
+
+    @Override
+    public UserServerMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return UserServerMessage.decode(data);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("user_server 메시지를 파싱할 수 없습니다.", e);
+        }
+    }
+}
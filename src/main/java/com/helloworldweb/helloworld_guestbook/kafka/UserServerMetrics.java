@@ -0,0 +1,114 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.dto.KafkaDiagnosticsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * user_server 처리 지표. MeterRegistry(actuator /actuator/metrics)에 등록하고, 진단 API 용 snapshot 을 만든다.
+ *  - user_server.messages{operation, outcome} : 처리 건수 (applied, skipped, failed)
+ *  - user_server.apply{operation} : register/update/delete 반영 시간
+ *  - user_server.end_to_end.lag : 레코드 timestamp 부터 커밋 가능해진 시점까지
+ */
+@Component
+public class UserServerMetrics {
+
+    private static final String[] OPERATIONS = {"register", "update", "delete", "unknown"};
+    private static final String[] OUTCOMES = {"applied", "skipped", "failed"};
+
+    private final Map<String, Timer> applyTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Timer endToEndLag;
+
+    public UserServerMetrics(MeterRegistry meterRegistry) {
+        // 태그 값은 미리 정해진 것만 사용하여 잘못된 메시지로 meter 가 늘어나지 않도록 한다.
+        for (String operation : OPERATIONS) {
+            applyTimers.put(operation, Timer.builder("user_server.apply")
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            for (String outcome : OUTCOMES) {
+                counters.put(operation + ":" + outcome, Counter.builder("user_server.messages")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        }
+        this.endToEndLag = Timer.builder("user_server.end_to_end.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordApplied(String operation, long elapsedNanos) {
+        String tag = normalize(operation);
+        applyTimers.get(tag).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        counters.get(tag + ":applied").increment();
+    }
+
+    public void recordSkipped(String operation) {
+        counters.get(normalize(operation) + ":skipped").increment();
+    }
+
+    public void recordFailed(String operation) {
+        counters.get(normalize(operation) + ":failed").increment();
+    }
+
+    public void recordEndToEndLag(long recordTimestampMillis) {
+        endToEndLag.record(Math.max(0L, System.currentTimeMillis() - recordTimestampMillis), TimeUnit.MILLISECONDS);
+    }
+
+    public List<KafkaDiagnosticsDto.OperationStat> operationStats() {
+        List<KafkaDiagnosticsDto.OperationStat> stats = new ArrayList<>();
+        for (String operation : OPERATIONS) {
+            stats.add(new KafkaDiagnosticsDto.OperationStat(operation,
+                    (long) counters.get(operation + ":applied").count(),
+                    (long) counters.get(operation + ":skipped").count(),
+                    (long) counters.get(operation + ":failed").count(),
+                    latencyStat(applyTimers.get(operation))));
+        }
+        return stats;
+    }
+
+    public KafkaDiagnosticsDto.LatencyStat endToEndLagStat() {
+        return latencyStat(endToEndLag);
+    }
+
+    private KafkaDiagnosticsDto.LatencyStat latencyStat(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double p50 = 0, p95 = 0, p99 = 0;
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == 0.5) {
+                p50 = value.value(TimeUnit.MILLISECONDS);
+            } else if (value.percentile() == 0.95) {
+                p95 = value.value(TimeUnit.MILLISECONDS);
+            } else if (value.percentile() == 0.99) {
+                p99 = value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return new KafkaDiagnosticsDto.LatencyStat(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+                p50, p95, p99, snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static String normalize(String operation) {
+        switch (String.valueOf(operation)) {
+            case "register":
+            case "update":
+            case "delete":
+                return operation;
+            default:
+                return "unknown";
+        }
+    }
+}
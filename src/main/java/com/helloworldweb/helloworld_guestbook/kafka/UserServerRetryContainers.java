@@ -0,0 +1,76 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * retry 단계 토픽마다 listener container 를 하나씩 띄운다.
+ * 한 단계의 맨 앞 레코드가 due 전이라 nack 으로 멈춰도, 다른 단계와 원래 user_server 토픽은 계속 처리된다.
+ * 단계 수가 kafka.user-server.retry.max-attempts 로 정해지므로 @KafkaListener 대신 기본 container factory 로 직접 만든다.
+ */
+@Component
+public class UserServerRetryContainers implements SmartLifecycle {
+
+    private static final String GROUP_ID_PREFIX = "guestbook-user-server-retry-";
+
+    private final List<ConcurrentMessageListenerContainer<?, ?>> containers = new ArrayList<>();
+    private volatile boolean running;
+
+    public UserServerRetryContainers(ConcurrentKafkaListenerContainerFactory<?, ?> kafkaListenerContainerFactory,
+                                     UserServerFailureHandler userServerFailureHandler,
+                                     Consumer consumer) {
+        AcknowledgingMessageListener<String, UserServerMessage> listener = (record, ack) -> {
+            try {
+                consumer.userServerRetryListener(record, ack);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("retry 레코드 처리가 중단되었습니다.", e);
+            }
+        };
+        for (String topic : userServerFailureHandler.retryTopics()) {
+            ConcurrentMessageListenerContainer<?, ?> container = kafkaListenerContainerFactory.createContainer(topic);
+            ContainerProperties containerProperties = container.getContainerProperties();
+            containerProperties.setGroupId(GROUP_ID_PREFIX + topic.substring(UserServerFailureHandler.RETRY_TOPIC_PREFIX.length()));
+            containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+            Properties consumerProperties = new Properties();
+            consumerProperties.setProperty("value.deserializer", "org.springframework.kafka.support.serializer.ErrorHandlingDeserializer");
+            consumerProperties.setProperty("spring.deserializer.value.delegate.class", UserServerMessageDeserializer.class.getName());
+            containerProperties.setKafkaConsumerProperties(consumerProperties);
+            container.setupMessageListener(listener);
+            container.setBeanName("userServerRetry-" + topic);
+            containers.add(container);
+        }
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(ConcurrentMessageListenerContainer::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // @KafkaListener container 들과 같은 phase 에서 시작/종료
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+}
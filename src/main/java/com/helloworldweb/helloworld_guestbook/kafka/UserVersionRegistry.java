@@ -0,0 +1,46 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.repository.DeletedUserRepository;
+import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 마지막으로 반영한 user_server 이벤트 버전.
+ * 메모리(Map)에서 먼저 확인하고, 없으면 User.eventVersion 컬럼, 삭제된 유저면 DeletedUser tombstone 에서 한번 읽어 채운다.
+ * tombstone 은 DB 에 남으므로 재시작 이후에도 삭제 이전 버전의 register 가 replay 되면 걸러낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final DeletedUserRepository deletedUserRepository;
+    private final Map<Long, Long> appliedVersions = new ConcurrentHashMap<>();
+
+    public boolean isStale(Long userId, Long version) {
+        if (version == null) {
+            return false;
+        }
+        Long applied = appliedVersions.get(userId);
+        if (applied == null) {
+            applied = userRepository.findEventVersionById(userId)
+                    .or(() -> deletedUserRepository.findEventVersionById(userId))
+                    .orElse(null);
+            if (applied == null) {
+                return false;
+            }
+            appliedVersions.merge(userId, applied, Math::max);
+        }
+        return version <= applied;
+    }
+
+    public void markApplied(Long userId, Long version) {
+        if (version != null) {
+            appliedVersions.merge(userId, version, Math::max);
+        }
+    }
+}
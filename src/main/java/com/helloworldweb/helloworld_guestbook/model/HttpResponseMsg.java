@@ -6,6 +6,7 @@ public class HttpResponseMsg {
     public static final String PUT_SUCCESS = "리소스 수정 성공";
 
     public static final String NO_CONTENT = "데이터가 존재하지 않습니다.";
+    public static final String ARCHIVED = "보관된 데이터는 수정하거나 삭제할 수 없습니다.";
     public static final String LOGIN_SUCCESS = "로그인 성공";
     public static final String LOGIN_FAIL = "로그인 실패";
     public static final String READ_USER = "회원 정보 조회 성공";
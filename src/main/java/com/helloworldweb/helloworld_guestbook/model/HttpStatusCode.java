@@ -8,6 +8,7 @@ public class HttpStatusCode {
     public static final int UNAUTHORIZED = 401;
     public static final int NOT_FOUND = 404;
     public static final int NOT_ACCEPTABLE = 406;
+    public static final int CONFLICT = 409;
     public static final int INTERNAL_SERVER_ERROR = 500;
     public static final int DB_ERROR = 600;
 
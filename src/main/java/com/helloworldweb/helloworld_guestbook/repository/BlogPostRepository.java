@@ -1,12 +1,19 @@
 package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import com.helloworldweb.helloworld_guestbook.service.EntityCacheService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +23,53 @@ public interface BlogPostRepository extends JpaRepository<BlogPost,Long> {
     @Query(value = "select b from BlogPost b join fetch b.user where b.id = :blogPostId")
     Optional<BlogPost> findBlogPostWithUserById(@Param(value = "blogPostId") Long blogPostId);
 
+    // 조건부 GET 용. 2차 캐시의 엔티티는 revision 이 오래됐을 수 있으므로 항상 DB 에서 읽는다.
+    @Query(value = "select new com.helloworldweb.helloworld_guestbook.dto.RevisionDto(b.revision, b.revisedTime) from BlogPost b where b.id = :blogPostId")
+    Optional<RevisionDto> findRevisionById(@Param(value = "blogPostId") Long blogPostId);
+
+    // 조회수는 BlogPostViewCounter 가 DB 에서 올리므로 캐시된 엔티티가 아니라 DB 에서 읽는다.
+    @Query(value = "select b.views from BlogPost b where b.id = :blogPostId")
+    Optional<Long> findViewsById(@Param(value = "blogPostId") Long blogPostId);
+
+    // 게시글 목록(헤더) 조회는 query cache 사용, 쓰기시 EntityCacheService 가 region 을 비운다.
     @Query(value = "select b from BlogPost b join fetch b.user u where u.id = :userId")
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = EntityCacheService.BLOG_POST_HEADER_REGION)})
     Optional<List<BlogPost>> findAllBlogPostByUserId(@Param(value = "userId")Long userId, Pageable pageable);
 
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = EntityCacheService.BLOG_POST_HEADER_REGION)})
     Page<BlogPost> findAllByUserId(Long userId, Pageable pageable);
 
+    @Query(value = "select b.id from BlogPost b where b.user.id = :userId order by b.id")
+    List<Long> findIdsByUserId(@Param(value = "userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from BlogPost b where b.user.id = :userId")
+    int deleteAllByUserIdInBulk(@Param(value = "userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from BlogPost b where b.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
+
+    // 삭제 필터를 거치지 않도록 native 조회
+    @Query(value = "select id from blog_post where deleted = true order by id", nativeQuery = true)
+    List<Long> findDeletedIds(Pageable pageable);
+
+    @Query(value = "select count(*) from blog_post where deleted = true", nativeQuery = true)
+    long countDeleted();
+
+    @Modifying
+    @Query(value = "delete from BlogPost b where b.id = :blogPostId and b.deleted = true")
+    int deleteDeletedById(@Param(value = "blogPostId") Long blogPostId);
+
+    // 압축 도입 이전에 원문으로 저장된 긴 게시글. 저장된 값 그대로 비교해야 하므로 native 조회
+    @Query(value = "select id from blog_post where id > :afterId and length(content) >= :minLength and content not like :encodedPrefix order by id", nativeQuery = true)
+    List<Long> findUncompressedIds(@Param(value = "afterId") Long afterId, @Param(value = "minLength") int minLength,
+                                   @Param(value = "encodedPrefix") String encodedPrefix, Pageable pageable);
 
+    // 재압축 중 사용자의 수정과 겹치지 않도록 잠그고 읽는다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select b from BlogPost b where b.id in :ids")
+    List<BlogPost> findAllForUpdateByIdIn(@Param(value = "ids") List<Long> ids);
 }
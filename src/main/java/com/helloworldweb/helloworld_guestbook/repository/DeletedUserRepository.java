@@ -0,0 +1,14 @@
+package com.helloworldweb.helloworld_guestbook.repository;
+
+import com.helloworldweb.helloworld_guestbook.domain.DeletedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface DeletedUserRepository extends JpaRepository<DeletedUser,Long> {
+
+    @Query(value = "select d.eventVersion from DeletedUser d where d.id = :userId")
+    Optional<Long> findEventVersionById(@Param(value = "userId") Long userId);
+}
@@ -0,0 +1,29 @@
+package com.helloworldweb.helloworld_guestbook.repository;
+
+import com.helloworldweb.helloworld_guestbook.domain.GuestBookCommentArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface GuestBookCommentArchiveRepository extends JpaRepository<GuestBookCommentArchive,Long> {
+
+    @Query(value = "select a from GuestBookCommentArchive a where a.guestBookId = :guestBookId order by a.id desc")
+    List<GuestBookCommentArchive> findAllByGuestBookId(@Param(value = "guestBookId") Long guestBookId, Pageable pageable);
+
+    long countByGuestBookId(Long guestBookId);
+
+    // hot 테이블에서 옮길 행 복사. 같은 트랜잭션에서 GuestBookCommentRepository.deleteByIds 로 원본을 지운다.
+    @Modifying
+    @Query(value = "insert into GuestBookCommentArchive (id, guestBookId, userId, content, reply, createdTime, modifiedTime, archivedTime) " +
+            "select gc.id, gc.guestBook.id, gc.user.id, gc.content, gc.reply, gc.createdTime, gc.modifiedTime, current_timestamp " +
+            "from GuestBookComment gc where gc.id in :ids")
+    int copyFromGuestBookComments(@Param(value = "ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from GuestBookCommentArchive a where a.userId = :userId or a.guestBookId = :guestBookId")
+    int deleteAllByUserIdOrGuestBookId(@Param(value = "userId") Long userId, @Param(value = "guestBookId") Long guestBookId);
+}
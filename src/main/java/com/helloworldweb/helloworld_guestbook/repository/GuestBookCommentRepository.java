@@ -2,14 +2,36 @@ package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.GuestBook;
 import com.helloworldweb.helloworld_guestbook.domain.GuestBookComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface GuestBookCommentRepository extends JpaRepository<GuestBookComment,Long> {
 
     @Query(value = "select gc from GuestBookComment gc join fetch gc.user where gc.id = :guestBookId")
     Optional<GuestBookComment> findGuestBookCommentWithUserById(@Param(value = "guestBookId")Long guestBookId);
+
+    // 유저가 쓴 방명록 댓글, 유저 방명록에 달린 댓글
+    @Modifying
+    @Query(value = "delete from GuestBookComment gc where gc.user.id = :userId or gc.guestBook.id = :guestBookId")
+    int deleteAllByUserIdOrGuestBookId(@Param(value = "userId") Long userId, @Param(value = "guestBookId") Long guestBookId);
+
+    // 방명록 댓글 페이지 조회(최신순). hot 테이블만 조회하고 넘어가는 부분은 GuestBookCommentArchiveRepository 에서 읽는다.
+    @Query(value = "select gc from GuestBookComment gc left join fetch gc.user where gc.guestBook.id = :guestBookId order by gc.id desc")
+    List<GuestBookComment> findAllWithUserByGuestBookId(@Param(value = "guestBookId") Long guestBookId, Pageable pageable);
+
+    long countByGuestBookId(Long guestBookId);
+
+    @Query(value = "select gc.id from GuestBookComment gc where gc.createdTime < :createdBefore order by gc.id")
+    List<Long> findIdsCreatedBefore(@Param(value = "createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from GuestBookComment gc where gc.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
 }
@@ -2,7 +2,13 @@ package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.GuestBook;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface GuestBookRepository extends JpaRepository<GuestBook,Long> {
+
+    @Modifying
+    @Query(value = "delete from GuestBook g where g.id = :guestBookId")
+    int deleteGuestBookById(@Param(value = "guestBookId") Long guestBookId);
 }
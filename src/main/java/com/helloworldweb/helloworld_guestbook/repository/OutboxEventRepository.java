@@ -0,0 +1,29 @@
+package com.helloworldweb.helloworld_guestbook.repository;
+
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent,Long> {
+
+    // 발행을 포기한(max-attempts 에 닿은) 이벤트는 제외
+    @Query(value = "select o from OutboxEvent o where o.attempts < :maxAttempts order by o.id")
+    List<OutboxEvent> findBatch(@Param(value = "maxAttempts") int maxAttempts, Pageable pageable);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Modifying
+    @Query(value = "update OutboxEvent o set o.attempts = o.attempts + 1 where o.id in :ids")
+    int incrementAttempts(@Param(value = "ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from OutboxEvent o where o.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
+}
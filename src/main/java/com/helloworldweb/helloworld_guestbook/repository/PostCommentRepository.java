@@ -1,15 +1,33 @@
 package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.PostComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.parameters.P;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PostCommentRepository extends JpaRepository<PostComment,Long> {
 
     @Query("select p from PostComment p join fetch p.postSubComments where p.id = :id")
     Optional<PostComment> findPostCommentWithPostSubCommentsById(@Param(value = "id")Long postCommentId);
+
+    @Modifying
+    @Query(value = "delete from PostComment pc where pc.blogPost.id in (select b.id from BlogPost b where b.user.id = :userId)")
+    int deleteAllOnBlogPostsOfUser(@Param(value = "userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from PostComment pc where pc.blogPost.id in :blogPostIds")
+    int deleteAllOnBlogPosts(@Param(value = "blogPostIds") List<Long> blogPostIds);
+
+    @Query(value = "select pc.id from PostComment pc where pc.blogPost.id = :blogPostId order by pc.id")
+    List<Long> findIdsOnBlogPost(@Param(value = "blogPostId") Long blogPostId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from PostComment pc where pc.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
 }
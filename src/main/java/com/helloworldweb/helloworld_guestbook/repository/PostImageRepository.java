@@ -1,7 +1,28 @@
 package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.PostImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PostImageRepository extends JpaRepository<PostImage,Long> {
+
+    @Modifying
+    @Query(value = "delete from PostImage pi where pi.blogPost.id in (select b.id from BlogPost b where b.user.id = :userId)")
+    int deleteAllOnBlogPostsOfUser(@Param(value = "userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from PostImage pi where pi.blogPost.id in :blogPostIds")
+    int deleteAllOnBlogPosts(@Param(value = "blogPostIds") List<Long> blogPostIds);
+
+    @Query(value = "select pi.id from PostImage pi where pi.blogPost.id = :blogPostId order by pi.id")
+    List<Long> findIdsOnBlogPost(@Param(value = "blogPostId") Long blogPostId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from PostImage pi where pi.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
 }
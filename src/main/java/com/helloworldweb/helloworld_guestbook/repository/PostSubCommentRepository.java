@@ -1,7 +1,10 @@
 package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.PostSubComment;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.parameters.P;
@@ -13,4 +16,28 @@ public interface PostSubCommentRepository extends JpaRepository<PostSubComment,L
 
     @Query(value = "select psc from PostSubComment psc join fetch psc.postComment join fetch psc.postComment pc left join fetch psc.user where psc.id = :postSubCommentId")
     Optional<PostSubComment> findPostSubCommentWithUserById(@Param(value = "postSubCommentId")Long postSubCommentId);
+
+    // 조건부 GET 용. 대댓글은 자신이 달린 게시글의 revision 을 따른다.
+    @Query(value = "select new com.helloworldweb.helloworld_guestbook.dto.RevisionDto(b.revision, b.revisedTime) from PostSubComment psc join psc.postComment pc join pc.blogPost b where psc.id = :postSubCommentId")
+    Optional<RevisionDto> findRevisionById(@Param(value = "postSubCommentId") Long postSubCommentId);
+
+    // 유저 삭제용 bulk delete. UserDeletionService 에서 의존 순서대로 호출한다.
+    @Modifying
+    @Query(value = "delete from PostSubComment psc where psc.postComment.id in (select pc.id from PostComment pc where pc.blogPost.id in (select b.id from BlogPost b where b.user.id = :userId))")
+    int deleteAllOnBlogPostsOfUser(@Param(value = "userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from PostSubComment psc where psc.postComment.id in (select pc.id from PostComment pc where pc.blogPost.id in :blogPostIds)")
+    int deleteAllOnBlogPosts(@Param(value = "blogPostIds") List<Long> blogPostIds);
+
+    @Modifying
+    @Query(value = "delete from PostSubComment psc where psc.user.id = :userId")
+    int deleteAllByUserId(@Param(value = "userId") Long userId);
+
+    @Query(value = "select psc.id from PostSubComment psc where psc.postComment.id in (select pc.id from PostComment pc where pc.blogPost.id = :blogPostId) order by psc.id")
+    List<Long> findIdsOnBlogPost(@Param(value = "blogPostId") Long blogPostId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from PostSubComment psc where psc.id in :ids")
+    int deleteByIds(@Param(value = "ids") List<Long> ids);
 }
@@ -0,0 +1,197 @@
+package com.helloworldweb.helloworld_guestbook.repository;
+
+import com.helloworldweb.helloworld_guestbook.domain.CompressedContentConverter;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * reactive 읽기 API 용 R2DBC 조회. JPA 엔티티/영속성 컨텍스트를 거치지 않고 행을 바로 DTO 로 만든다.
+ * 2차 캐시를 거치지 않으므로 항상 DB 를 읽고, 삭제 표시된 게시글(deleted)은 직접 제외한다.
+ * 유저 테이블은 H2 2.x 에서 예약어인 USER 이므로 인용부호로 감싼다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveReadRepository {
+
+    private static final String USER_COLUMNS = "u.id as u_id, u.email as u_email, u.socail_account_id as u_social_account_id, u.profile_url as u_profile_url, "
+            + "u.nick_name as u_nick_name, u.repo_url as u_repo_url, u.profile_music_name as u_profile_music_name, "
+            + "u.profile_music_url as u_profile_music_url, u.fcm as u_fcm";
+
+    private final CompressedContentConverter contentConverter = new CompressedContentConverter();
+    private final DatabaseClient databaseClient;
+
+    public Mono<BlogPostDto> findBlogPostById(Long blogPostId) {
+        return databaseClient.sql("select b.id, b.title, b.content, b.tags, b.search_count, b.views, b.created_time, b.modified_time, " + USER_COLUMNS
+                        + " from blog_post b join \"USER\" u on u.id = b.user_id where b.id = :blogPostId and b.deleted = false")
+                .bind("blogPostId", blogPostId)
+                .map((row, metadata) -> toBlogPostDto(row))
+                .one();
+    }
+
+    // 댓글 - 대댓글 - 대댓글 작성자를 한번에 조회해 댓글 단위로 묶는다. (대댓글이 삭제되면 작성자가 null)
+    public Mono<List<PostCommentDto>> findPostCommentsByBlogPostId(Long blogPostId) {
+        return databaseClient.sql("select pc.id as post_comment_id, psc.id, psc.content, psc.created_time, psc.modified_time, " + USER_COLUMNS
+                        + " from post_comment pc"
+                        + " left join post_sub_comment psc on psc.post_comment_id = pc.id"
+                        + " left join \"USER\" u on u.id = psc.user_id"
+                        + " where pc.blogpost_id = :blogPostId order by pc.id, psc.id")
+                .bind("blogPostId", blogPostId)
+                .map((row, metadata) -> {
+                    Long postCommentId = row.get("post_comment_id", Long.class);
+                    Long postSubCommentId = row.get("id", Long.class);
+                    PostSubCommentDto postSubCommentDto = postSubCommentId == null ? null : PostSubCommentDto.of(postSubCommentId, postCommentId,
+                            row.get("content", String.class), row.get("created_time", LocalDateTime.class),
+                            row.get("modified_time", LocalDateTime.class), toUserDto(row));
+                    return Map.entry(postCommentId, postSubCommentDto == null ? List.<PostSubCommentDto>of() : List.of(postSubCommentDto));
+                })
+                .all()
+                .collect(LinkedHashMap<Long, List<PostSubCommentDto>>::new, (grouped, entry) ->
+                        grouped.computeIfAbsent(entry.getKey(), (id) -> new ArrayList<>()).addAll(entry.getValue()))
+                .map((grouped) -> {
+                    List<PostCommentDto> postCommentDtos = new ArrayList<>(grouped.size());
+                    grouped.forEach((id, postSubCommentDtos) -> postCommentDtos.add(new PostCommentDto(id, postSubCommentDtos)));
+                    return postCommentDtos;
+                });
+    }
+
+    public Flux<BlogPostDto> findBlogPostsByUserId(Long userId, int page, int size) {
+        return databaseClient.sql("select b.id, b.title, b.content, b.tags, b.search_count, b.views, b.created_time, b.modified_time, " + USER_COLUMNS
+                        + " from blog_post b join \"USER\" u on u.id = b.user_id"
+                        + " where b.user_id = :userId and b.deleted = false order by b.id desc limit :size offset :offset")
+                .bind("userId", userId)
+                .bind("size", size)
+                .bind("offset", (long) page * size)
+                .map((row, metadata) -> toBlogPostDto(row))
+                .all();
+    }
+
+    public Mono<Long> countBlogPostsByUserId(Long userId) {
+        return databaseClient.sql("select count(*) from blog_post b where b.user_id = :userId and b.deleted = false")
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Long> findGuestBookIdByUserId(Long userId) {
+        return databaseClient.sql("select u.guest_book_id from \"USER\" u where u.id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get("guest_book_id", Long.class))
+                .one();
+    }
+
+    public Flux<GuestBookCommentDto> findGuestBookCommentsByGuestBookId(Long guestBookId) {
+        return databaseClient.sql("select gc.id, gc.content, gc.reply, gc.created_time, gc.modified_time, " + USER_COLUMNS
+                        + " from guest_book_comment gc left join \"USER\" u on u.id = gc.user_id"
+                        + " where gc.guest_book_id = :guestBookId order by gc.id")
+                .bind("guestBookId", guestBookId)
+                .map((row, metadata) -> new GuestBookCommentDto(row.get("id", Long.class), row.get("content", String.class),
+                        row.get("reply", String.class), row.get("created_time", LocalDateTime.class),
+                        row.get("modified_time", LocalDateTime.class), toUserDto(row)))
+                .all();
+    }
+
+    public Mono<Long> countArchivedGuestBookComments(Long guestBookId) {
+        return databaseClient.sql("select count(*) from guest_book_comment_archive a where a.guest_book_id = :guestBookId")
+                .bind("guestBookId", guestBookId)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * user_server 에서 받은 유저를 빈 방명록과 함께 저장하고 방명록 id 를 돌려준다. (SyncService.syncUser 의 non-blocking 버전)
+     * R2DBC 트랜잭션 매니저를 쓰지 않으므로 두 insert 는 각각 커밋된다. 유저 insert 가 어떤 이유로든 실패하면 먼저 만든 방명록을 지우고,
+     * 같은 유저를 동시에 저장해 PK 충돌이 난 경우에만 이미 저장된 유저의 방명록 id 를 읽고, 그 외에는 에러를 그대로 전달한다.
+     * guest_book_seq 는 pooled-lo 이므로 여기서 꺼낸 값 하나는 JPA 가 할당하는 블록과 겹치지 않는다.
+     */
+    public Mono<Long> insertUserWithGuestBook(UserDto userDto) {
+        return databaseClient.sql("select next value for guest_book_seq")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .flatMap((guestBookId) -> databaseClient.sql("insert into guest_book (id, revision, revised_time) values (:id, 0, :now)")
+                        .bind("id", guestBookId)
+                        .bind("now", LocalDateTime.now())
+                        .then()
+                        .then(insertUser(userDto, guestBookId))
+                        .thenReturn(guestBookId)
+                        .onErrorResume((e) -> deleteGuestBook(guestBookId)
+                                .then(e instanceof DataIntegrityViolationException
+                                        ? findGuestBookIdByUserId(userDto.getId())
+                                        : Mono.error(e))));
+    }
+
+    private Mono<Void> deleteGuestBook(Long guestBookId) {
+        return databaseClient.sql("delete from guest_book where id = :id")
+                .bind("id", guestBookId)
+                .then();
+    }
+
+    private Mono<Void> insertUser(UserDto userDto, Long guestBookId) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into \"USER\" (id, email, socail_account_id, profile_url, nick_name, repo_url, "
+                        + "profile_music_name, profile_music_url, fcm, guest_book_id) "
+                        + "values (:id, :email, :socialAccountId, :profileUrl, :nickName, :repoUrl, :profileMusicName, :profileMusicUrl, :fcm, :guestBookId)")
+                .bind("id", userDto.getId())
+                .bind("guestBookId", guestBookId);
+        spec = bindNullable(spec, "email", userDto.getEmail());
+        spec = bindNullable(spec, "socialAccountId", userDto.getSocialAccountId());
+        spec = bindNullable(spec, "profileUrl", userDto.getProfileUrl());
+        spec = bindNullable(spec, "nickName", userDto.getNickName());
+        spec = bindNullable(spec, "repoUrl", userDto.getRepoUrl());
+        spec = bindNullable(spec, "profileMusicName", userDto.getProfileMusicName());
+        spec = bindNullable(spec, "profileMusicUrl", userDto.getProfileMusicUrl());
+        spec = bindNullable(spec, "fcm", userDto.getFcm());
+        return spec.then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private BlogPostDto toBlogPostDto(Row row) {
+        BlogPostDto blogPostDto = BlogPostDto.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .content(contentConverter.convertToEntityAttribute(row.get("content", String.class)))
+                .tags(row.get("tags", String.class))
+                .searchCount(row.get("search_count", Long.class))
+                .views(row.get("views", Long.class))
+                .userDto(toUserDto(row))
+                .build();
+        blogPostDto.setCreatedTime(row.get("created_time", LocalDateTime.class));
+        blogPostDto.setModifiedTime(row.get("modified_time", LocalDateTime.class));
+        return blogPostDto;
+    }
+
+    private static UserDto toUserDto(Row row) {
+        Long id = row.get("u_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        return UserDto.builder()
+                .id(id)
+                .email(row.get("u_email", String.class))
+                .socialAccountId(row.get("u_social_account_id", String.class))
+                .profileUrl(row.get("u_profile_url", String.class))
+                .nickName(row.get("u_nick_name", String.class))
+                .repoUrl(row.get("u_repo_url", String.class))
+                .profileMusicName(row.get("u_profile_music_name", String.class))
+                .profileMusicUrl(row.get("u_profile_music_url", String.class))
+                .fcm(row.get("u_fcm", String.class))
+                .build();
+    }
+}
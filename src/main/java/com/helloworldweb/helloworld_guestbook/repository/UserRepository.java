@@ -1,7 +1,9 @@
 package com.helloworldweb.helloworld_guestbook.repository;
 
 import com.helloworldweb.helloworld_guestbook.domain.User;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -19,4 +21,18 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
     @Query(value = "select u from User u left join fetch u.blogPosts b where u.id = :userId")
     Optional<User> findUserWithBlogPostsById(@Param(value = "userId") Long userId);
+
+    @Query(value = "select u.eventVersion from User u where u.id = :userId")
+    Optional<Long> findEventVersionById(@Param(value = "userId") Long userId);
+
+    @Query(value = "select u.guestBook.id from User u where u.id = :userId")
+    Optional<Long> findGuestBookIdById(@Param(value = "userId") Long userId);
+
+    // 조건부 GET 용 방명록 revision
+    @Query(value = "select new com.helloworldweb.helloworld_guestbook.dto.RevisionDto(g.revision, g.revisedTime) from User u join u.guestBook g where u.id = :userId")
+    Optional<RevisionDto> findGuestBookRevisionById(@Param(value = "userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from User u where u.id = :userId")
+    int deleteUserById(@Param(value = "userId") Long userId);
 }
@@ -0,0 +1,112 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.CompressedContentConverter;
+import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CompressedContentConverter 도입 이전에 원문으로 저장된 긴 게시글을 다시 써서 압축 저장한다.
+ * id 순으로 진행하고 마지막 id 를 기억하므로 압축해도 작아지지 않아 원문으로 남는 행을 반복 처리하지 않는다.
+ * (새로 쓰이는 게시글은 converter 가 바로 압축하므로 한번 끝까지 돌면 더 할 일이 없다. 재시작하면 처음부터 한번 더 확인)
+ * chunk 마다 native update 한번으로 쓰고, 다시 쓴 게시글만 2차 캐시에서 비운다.
+ * (JPQL bulk update, entity class 를 지정한 native update 는 BlogPost region 전체를 비운다)
+ */
+@Slf4j
+@Component
+public class BlogPostContentRecompressor {
+
+    private static final String ENCODED_PREFIX = CompressedContentConverter.MARKER + "%";
+    private static final String RECOMPRESS_SPACE = "blog_post_recompress";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BlogPostRepository blogPostRepository;
+    private final EntityCacheService entityCacheService;
+    private final CompressedContentConverter contentConverter = new CompressedContentConverter();
+    private final TransactionTemplate transactionTemplate;
+    private final Pageable chunk;
+    private final long throttleMillis;
+    private final Counter rewritten;
+    private volatile long lastId = 0L;
+
+    public BlogPostContentRecompressor(BlogPostRepository blogPostRepository,
+                                       EntityCacheService entityCacheService,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${blog-post.recompress.chunk-size:100}") int chunkSize,
+                                       @Value("${blog-post.recompress.throttle-ms:100}") long throttleMillis) {
+        this.blogPostRepository = blogPostRepository;
+        this.entityCacheService = entityCacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        this.throttleMillis = throttleMillis;
+        this.rewritten = Counter.builder("blog_post.content.recompressed")
+                .description("원문에서 압축 저장으로 다시 쓴 게시글 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${blog-post.recompress.interval-ms:600000}")
+    public void recompress() {
+        try {
+            while (true) {
+                List<Long> ids = blogPostRepository.findUncompressedIds(lastId, CompressedContentConverter.COMPRESSION_THRESHOLD, ENCODED_PREFIX, chunk);
+                if (ids.isEmpty()) {
+                    return;
+                }
+                transactionTemplate.executeWithoutResult((status) -> rewrite(ids));
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < chunk.getPageSize()) {
+                    return;
+                }
+                Thread.sleep(throttleMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("게시글 content 재압축 실패, 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    // 읽을 때 converter 가 원문으로 돌려주고, native update 이므로 다시 쓸 값은 converter 로 직접 압축한다.
+    private void rewrite(List<Long> ids) {
+        List<BlogPost> blogPosts = blogPostRepository.findAllForUpdateByIdIn(ids);
+        if (blogPosts.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("update blog_post set content = case id");
+        for (int i = 0; i < blogPosts.size(); i++) {
+            sql.append(" when :id").append(i).append(" then cast(:content").append(i).append(" as clob)");
+        }
+        sql.append(" end where id in (:ids)");
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(RECOMPRESS_SPACE);
+        List<Long> rewrittenIds = new ArrayList<>(blogPosts.size());
+        for (int i = 0; i < blogPosts.size(); i++) {
+            BlogPost blogPost = blogPosts.get(i);
+            query.setParameter("id" + i, blogPost.getId());
+            query.setParameter("content" + i, contentConverter.convertToDatabaseColumn(blogPost.getContent()));
+            rewrittenIds.add(blogPost.getId());
+        }
+        query.setParameter("ids", rewrittenIds);
+        rewritten.increment(query.executeUpdate());
+        entityCacheService.evictBlogPosts(rewrittenIds);
+    }
+}
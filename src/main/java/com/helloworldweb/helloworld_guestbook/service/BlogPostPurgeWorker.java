@@ -0,0 +1,115 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
+import com.helloworldweb.helloworld_guestbook.repository.PostCommentRepository;
+import com.helloworldweb.helloworld_guestbook.repository.PostImageRepository;
+import com.helloworldweb.helloworld_guestbook.repository.PostSubCommentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 삭제 표시된(deleted) 게시글의 대댓글, 댓글, 이미지, 게시글 행을 실제로 지운다.
+ * 한 트랜잭션에서 chunk-size 행씩만 지우고 chunk 사이에 throttle-ms 만큼 쉬어 lock 점유와 DB 부하를 제한한다.
+ * 중간에 실패해도 게시글은 deleted 상태로 남아 다음 주기에 이어서 지운다.
+ */
+@Slf4j
+@Component
+public class BlogPostPurgeWorker {
+
+    private final BlogPostRepository blogPostRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final PostSubCommentRepository postSubCommentRepository;
+    private final PostImageRepository postImageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int postsPerRun;
+    private final Pageable chunk;
+    private final long throttleMillis;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public BlogPostPurgeWorker(BlogPostRepository blogPostRepository,
+                               PostCommentRepository postCommentRepository,
+                               PostSubCommentRepository postSubCommentRepository,
+                               PostImageRepository postImageRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${blog-post.purge.posts-per-run:20}") int postsPerRun,
+                               @Value("${blog-post.purge.chunk-size:500}") int chunkSize,
+                               @Value("${blog-post.purge.throttle-ms:50}") long throttleMillis) {
+        this.blogPostRepository = blogPostRepository;
+        this.postCommentRepository = postCommentRepository;
+        this.postSubCommentRepository = postSubCommentRepository;
+        this.postImageRepository = postImageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.postsPerRun = Math.max(1, postsPerRun);
+        this.chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        this.throttleMillis = throttleMillis;
+
+        Gauge.builder("blog_post.purge.backlog", backlog, AtomicLong::get)
+                .description("삭제 표시 후 purge 대기중인 게시글 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${blog-post.purge.interval-ms:10000}")
+    public void purge() {
+        try {
+            for (Long blogPostId : blogPostRepository.findDeletedIds(PageRequest.of(0, postsPerRun))) {
+                purgeBlogPost(blogPostId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("삭제된 게시글 purge 실패, 다음 주기에 재시도합니다.", e);
+        } finally {
+            backlog.set(blogPostRepository.countDeleted());
+        }
+    }
+
+    // FK 의존 순서대로 자식 행부터 지운다.
+    private void purgeBlogPost(Long blogPostId) {
+        purgeChunks("post_sub_comment", () -> postSubCommentRepository.findIdsOnBlogPost(blogPostId, chunk), postSubCommentRepository::deleteByIds);
+        purgeChunks("post_comment", () -> postCommentRepository.findIdsOnBlogPost(blogPostId, chunk), postCommentRepository::deleteByIds);
+        purgeChunks("post_image", () -> postImageRepository.findIdsOnBlogPost(blogPostId, chunk), postImageRepository::deleteByIds);
+        // bulk delete 이므로 Hibernate 가 BlogPost region, 게시글 목록 query cache 를 무효화한다.
+        Integer deleted = transactionTemplate.execute((status) -> blogPostRepository.deleteDeletedById(blogPostId));
+        meterRegistry.counter("blog_post.purge.rows", "table", "blog_post").increment(deleted);
+    }
+
+    private void purgeChunks(String table, Supplier<List<Long>> nextChunk, Function<List<Long>, Integer> delete) {
+        while (true) {
+            Integer deleted = transactionTemplate.execute((status) -> {
+                List<Long> ids = nextChunk.get();
+                return ids.isEmpty() ? 0 : delete.apply(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            meterRegistry.counter("blog_post.purge.rows", "table", table).increment(deleted);
+            throttle();
+        }
+    }
+
+    private void throttle() {
+        if (throttleMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("게시글 purge 가 중단되었습니다.", e);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
 import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BlogPostService {
 
@@ -22,6 +24,13 @@ public interface BlogPostService {
      */
     BlogPostDto getBlogPost(Long id);
 
+    /** R
+     * getRevision - 조건부 GET 을 위해 게시글을 읽지 않고 revision 만 조회하는 함수. 댓글, 대댓글이 바뀌어도 revision 이 올라간다.
+     * @param id - BlogPost의 ID
+     * @return revision, 마지막 변경 시각. 삭제되었거나 없는 게시글이면 empty
+     */
+    Optional<RevisionDto> getRevision(Long id);
+
     /** R
      * getAllBlogPosts - 유저 이메일을 통해 해당 유저가 작성한 모든 BLOGPOST 객체를 반환하는 함수.
      * @param userId - BLOGPOST를 작성한 User의 Email
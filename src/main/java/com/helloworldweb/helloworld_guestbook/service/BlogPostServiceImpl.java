@@ -2,15 +2,17 @@ package com.helloworldweb.helloworld_guestbook.service;
 
 
 import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,11 +29,15 @@ public class BlogPostServiceImpl implements BlogPostService{
     private final UserRepository userRepository;
     private final BlogPostRepository blogPostRepository;
     private final SyncService syncService;
+    private final OutboxService outboxService;
+    private final EntityCacheService entityCacheService;
+    private final RevisionService revisionService;
+    private final BlogPostViewCounter blogPostViewCounter;
 
     @Override
     @Transactional
     public BlogPostDto addBlogPost(BlogPostDto blogPostDto) {
-        Long callerId = getUserIdFromContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         User writer = getUserWithBlogPostsByUserId(callerId);
 
         BlogPost blogPost = BlogPost.builder()
@@ -42,18 +48,29 @@ public class BlogPostServiceImpl implements BlogPostService{
                 .searchCount(0L)
                 .build();
         blogPost.updateUser(writer);
-        return new BlogPostDto(blogPostRepository.save(blogPost));
+        BlogPost savedBlogPost = blogPostRepository.save(blogPost);
+        outboxService.append(OutboxEvent.EventType.BLOG_POST_CREATED, savedBlogPost.getId(), null, callerId);
+        entityCacheService.evictBlogPostHeaders();
+        return new BlogPostDto(savedBlogPost);
 
     }
 
     // FetchJoin 시 post - fetch - postcomment , 이후 지연로딩 (batchSize조절)
     @Override
-    @Transactional
-    //댓글, 대댓글, 대댓글을 단 user 모두 표시해야하기 때문에 지연로딩 필요, 조회수 update해야하므로 지연로딩 필요.
+    @Transactional(readOnly = true)
+    //댓글, 대댓글, 대댓글을 단 user 모두 표시해야하기 때문에 지연로딩 필요. 조회수는 캐시된 게시글을 건드리지 않도록 BlogPostViewCounter 가 센다.
     public BlogPostDto getBlogPost(Long id){
         BlogPost blogPost = getBlogPostWithUserByID(id);
-        blogPost.updateView();
-        return new BlogPostDto(blogPost, blogPost.getPostComments() );
+        BlogPostDto blogPostDto = new BlogPostDto(blogPost, blogPost.getPostComments() );
+        long pendingViews = blogPostViewCounter.increment(id);
+        blogPostDto.setViews(blogPostRepository.findViewsById(id).orElse(0L) + pendingViews);
+        return blogPostDto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RevisionDto> getRevision(Long id) {
+        return blogPostRepository.findRevisionById(id);
     }
 
     @Override
@@ -73,10 +90,13 @@ public class BlogPostServiceImpl implements BlogPostService{
     @Transactional
     public BlogPostDto updateBlogPost(BlogPostDto blogPostDto){
 
-        Long callerId = getUserIdFromContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         BlogPost blogPost = getBlogPostWithUserByID(blogPostDto.getId());
         if(vaildateCaller(blogPost.getUser().getId(),callerId)){
             blogPost.updateBlogPost(blogPostDto);
+            revisionService.reviseBlogPost(blogPost.getId());
+            outboxService.append(OutboxEvent.EventType.BLOG_POST_UPDATED, blogPost.getId(), null, callerId);
+            entityCacheService.evictBlogPost(blogPost.getId());
             return new BlogPostDto(blogPostRepository.save(blogPost)); // 갱신된 BlogPost객체 Dto화 하기위해 DirtyCheck 대신 직접 save
         }
         else{
@@ -85,13 +105,16 @@ public class BlogPostServiceImpl implements BlogPostService{
 
     }
 
+    // 댓글, 대댓글, 이미지를 요청 트랜잭션에서 지우지 않도록 삭제 표시만 하고 바로 조회에서 제외. 실제 삭제는 BlogPostPurgeWorker
     @Override
     @Transactional
     public void deleteBlogPost(Long blogPostId){
-        Long callerId = getUserIdFromContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         BlogPost blogPost = getBlogPostWithUserByID(blogPostId);
         if(vaildateCaller(blogPost.getUser().getId(),callerId)){
-            blogPostRepository.delete(blogPost);
+            blogPost.markDeleted();
+            outboxService.append(OutboxEvent.EventType.BLOG_POST_DELETED, blogPostId, null, callerId);
+            entityCacheService.evictBlogPost(blogPostId);
         }else{
             throw new IllegalCallerException("게시글 작성자만 삭제할 수 있습니다.");
         }
@@ -119,10 +142,6 @@ public class BlogPostServiceImpl implements BlogPostService{
         }
     }
 
-    private Long getUserIdFromContextHolder() {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return user.getId();
-    }
 
     private User getUserWithBlogPostsByUserId(Long userId){
         return userRepository.findUserWithBlogPostsById(userId)
@@ -0,0 +1,72 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시글 조회수를 엔티티 밖에서 센다. 조회마다 BlogPost 를 dirty 로 만들면 2차 캐시 항목이 매번 다시 쓰이고(READ_WRITE soft lock) 같은 행에 update 가 몰린다.
+ * 조회는 메모리의 누적분만 올리고, 주기적으로 게시글마다 native update 한번으로 DB 에 더한다.
+ * views 는 응답에서 DB 값 + 아직 반영 안 된 누적분으로 보여주고, BlogPost region 은 비우지 않는다. (BlogPost.views 는 updatable = false)
+ * 반영 전에 프로세스가 죽으면 그 사이의 조회수는 잃는다.
+ */
+@Slf4j
+@Component
+public class BlogPostViewCounter {
+
+    private static final String VIEWS_SPACE = "blog_post_views";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public BlogPostViewCounter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 조회 한번을 더하고 아직 DB 에 반영 안 된 누적분을 돌려준다.
+    public long increment(Long blogPostId) {
+        return pending.merge(blogPostId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${blog-post.views.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Long blogPostId : pending.keySet()) {
+            Long delta = pending.remove(blogPostId);
+            if (delta != null) {
+                deltas.put(blogPostId, delta);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult((status) -> deltas.forEach(this::addViews));
+        } catch (RuntimeException e) {
+            deltas.forEach((blogPostId, delta) -> pending.merge(blogPostId, delta, Long::sum));
+            log.warn("게시글 조회수 반영 실패, 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private void addViews(Long blogPostId, Long delta) {
+        NativeQuery<?> query = entityManager.createNativeQuery("update blog_post set views = views + :delta where id = :id").unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(VIEWS_SPACE);
+        query.setParameter("delta", delta);
+        query.setParameter("id", blogPostId);
+        query.executeUpdate();
+    }
+}
@@ -0,0 +1,101 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.User;
+import com.helloworldweb.helloworld_guestbook.dto.CacheDiagnosticsDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시(User, GuestBook, BlogPost, 게시글 목록 query cache) 명시적 eviction 및 region 통계.
+ * READ_WRITE 전략이라 Hibernate 를 거친 변경은 자동 반영되지만, 트랜잭션 밖의 변경(native SQL, 다른 경로)과
+ * 목록 query cache 는 여기서 커밋 이후에 비운다.
+ */
+@Service
+public class EntityCacheService {
+
+    public static final String BLOG_POST_HEADER_REGION = "blogPostHeaders";
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void evictUser(Long userId) {
+        afterCommit(() -> sessionFactory.getCache().evictEntityData(User.class, userId));
+    }
+
+    public void evictBlogPost(Long blogPostId) {
+        afterCommit(() -> {
+            sessionFactory.getCache().evictEntityData(BlogPost.class, blogPostId);
+            sessionFactory.getCache().evictQueryRegion(BLOG_POST_HEADER_REGION);
+        });
+    }
+
+    // 목록(헤더) query cache 는 id 만 가지므로, 내용만 바뀐 게시글은 엔티티만 비운다.
+    public void evictBlogPosts(List<Long> blogPostIds) {
+        afterCommit(() -> blogPostIds.forEach((blogPostId) -> sessionFactory.getCache().evictEntityData(BlogPost.class, blogPostId)));
+    }
+
+    public void evictBlogPostHeaders() {
+        afterCommit(() -> sessionFactory.getCache().evictQueryRegion(BLOG_POST_HEADER_REGION));
+    }
+
+    public CacheDiagnosticsDto diagnose() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheDiagnosticsDto.RegionStat> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            // entity region, query region 모두 조회
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(regionStat(regionName, region));
+            }
+        }
+        return new CacheDiagnosticsDto(
+                statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions);
+    }
+
+    private CacheDiagnosticsDto.RegionStat regionStat(String regionName, CacheRegionStatistics region) {
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        return new CacheDiagnosticsDto.RegionStat(
+                regionName,
+                hits,
+                misses,
+                region.getPutCount(),
+                region.getElementCountInMemory(),
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+    }
+
+    // 트랜잭션 안이면 커밋 이후에 비워야 커밋 전 값이 다시 캐시에 올라가지 않는다.
+    // 비운 뒤 지연된 replica 에서 읽은 값은 ReplicaRoutingDataSource 가 캐시에 올리지 않는다.
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentArchiveRepository;
+import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * guestbook.archive.max-age-days 보다 오래된 방명록 댓글을 archive 테이블로 옮겨 hot 테이블(guest_book_comment)을 작게 유지한다.
+ * chunk 단위로 복사 + 원본 삭제를 한 트랜잭션에서 처리하므로 중간에 실패해도 댓글이 중복되거나 사라지지 않는다.
+ * archive 된 댓글은 읽기 전용이다. (수정/삭제 API 에서는 존재하지 않는 댓글로 처리)
+ */
+@Slf4j
+@Component
+public class GuestBookCommentArchiver {
+
+    private final GuestBookCommentRepository guestBookCommentRepository;
+    private final GuestBookCommentArchiveRepository guestBookCommentArchiveRepository;
+    private final RevisionService revisionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+    private final Pageable chunk;
+    private final long throttleMillis;
+    private final Counter archived;
+
+    public GuestBookCommentArchiver(GuestBookCommentRepository guestBookCommentRepository,
+                                    GuestBookCommentArchiveRepository guestBookCommentArchiveRepository,
+                                    RevisionService revisionService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${guestbook.archive.max-age-days:365}") long maxAgeDays,
+                                    @Value("${guestbook.archive.chunk-size:500}") int chunkSize,
+                                    @Value("${guestbook.archive.throttle-ms:50}") long throttleMillis) {
+        this.guestBookCommentRepository = guestBookCommentRepository;
+        this.guestBookCommentArchiveRepository = guestBookCommentArchiveRepository;
+        this.revisionService = revisionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        this.throttleMillis = throttleMillis;
+        this.archived = Counter.builder("guestbook.archive.moved")
+                .description("archive 테이블로 옮긴 방명록 댓글 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${guestbook.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(maxAge);
+        try {
+            // id 순으로 읽으므로 오래된 댓글이 앞쪽 PK 범위에 모여 있다.
+            while (true) {
+                int moved = transactionTemplate.execute((status) -> archiveChunk(createdBefore));
+                archived.increment(moved);
+                if (moved < chunk.getPageSize()) {
+                    break;
+                }
+                throttle();
+            }
+        } catch (RuntimeException e) {
+            log.warn("방명록 댓글 archive 실패, 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime createdBefore) {
+        List<Long> ids = guestBookCommentRepository.findIdsCreatedBefore(createdBefore, chunk);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // 방명록 조회(hot 테이블)에서 빠지므로 해당 방명록 revision 을 올린다.
+        revisionService.reviseGuestBooksOfComments(ids);
+        guestBookCommentArchiveRepository.copyFromGuestBookComments(ids);
+        guestBookCommentRepository.deleteByIds(ids);
+        return ids.size();
+    }
+
+    private void throttle() {
+        if (throttleMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("방명록 댓글 archive 가 중단되었습니다.", e);
+        }
+    }
+}
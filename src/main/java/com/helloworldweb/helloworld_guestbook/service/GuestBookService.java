@@ -2,7 +2,12 @@ package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentPageDto;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
 
 public interface GuestBookService {
 
@@ -21,6 +26,21 @@ public interface GuestBookService {
      */
     GuestBookDto getGuestBook(Long userId);
 
+    /** R
+     * 조건부 GET 을 위해 방명록을 읽지 않고 revision 만 조회하는 함수. 방명록 댓글이 추가, 수정, 삭제, archive 되면 revision 이 올라간다.
+     * @param userId - 방명록 주인 user ID
+     * @return revision, 마지막 변경 시각. 아직 동기화되지 않은 유저면 empty
+     */
+    Optional<RevisionDto> getRevision(Long userId);
+
+    /** R
+     * 방명록 댓글을 최신순으로 페이지 조회하는 함수. hot 테이블의 마지막 페이지부터는 archive 된 오래된 댓글까지 이어서 조회한다.
+     * @param userId - 방명록 주인 user ID
+     * @param pageable - 페이지 번호, 크기 (정렬은 항상 최신순)
+     * @return 댓글 목록과 전체 페이지 수. hot 테이블의 마지막 페이지 전까지는 hot 테이블 기준 페이지 수.
+     */
+    GuestBookCommentPageDto getGuestBookComments(Long userId, Pageable pageable);
+
     /** U
      * GuestBookComment 객체를 수정하는 함수.
      * @param guestBookCommentDto - 수정할 GuestBookComment의 Dto 형태
@@ -2,18 +2,32 @@ package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.GuestBook;
 import com.helloworldweb.helloworld_guestbook.domain.GuestBookComment;
+import com.helloworldweb.helloworld_guestbook.domain.GuestBookCommentArchive;
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentPageDto;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentArchiveRepository;
 import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentRepository;
 import com.helloworldweb.helloworld_guestbook.repository.GuestBookRepository;
+import com.helloworldweb.helloworld_guestbook.repository.OffsetPageRequest;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,12 +35,15 @@ public class GuestBookServiceImpl implements GuestBookService{
 
     private final UserRepository userRepository;
     private final GuestBookCommentRepository guestBookCommentRepository;
+    private final GuestBookCommentArchiveRepository guestBookCommentArchiveRepository;
     private final SyncService syncService;
+    private final OutboxService outboxService;
+    private final RevisionService revisionService;
 
     @Override
     @Transactional
     public GuestBookDto addGuestBookComment(Long userId, GuestBookCommentDto guestBookCommentDto) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         User caller = getUserById(callerId);
 
         User owner = getUserWithGuestBookWithGuestBookCommentById(userId);
@@ -38,24 +55,65 @@ public class GuestBookServiceImpl implements GuestBookService{
 
         //ID를 얻기 위해 GuestBookComment를 저장. 연관관계 + cascade를 통해 등록하면, 트랜잭션 유지 기간중에는 아이디를 얻을 수 없음.(Transient 객체를 반환)
         guestBookCommentRepository.save(guestBookComment);
+        outboxService.append(OutboxEvent.EventType.GUESTBOOK_COMMENT_CREATED, guestBookComment.getId(), guestBook.getId(), callerId);
+        revisionService.reviseGuestBook(guestBook.getId());
 
-        return new GuestBookDto(guestBook,guestBook.getGuestBookComments());
+        return new GuestBookDto(guestBook,guestBook.getGuestBookComments(), guestBookCommentArchiveRepository.countByGuestBookId(guestBook.getId()));
     }
 
+    // hot 테이블의 댓글만 담는다. archive 로 옮겨진 댓글은 수만 알려주고 getGuestBookComments 로 이어서 조회한다.
     @Override
     @Transactional(readOnly = true)
     public GuestBookDto getGuestBook(Long userId) {
         GuestBook guestBook = getUserWithGuestBookWithGuestBookCommentById(userId).getGuestBook();
-        GuestBookDto guestBookDto =  new GuestBookDto(guestBook,guestBook.getGuestBookComments());
+        GuestBookDto guestBookDto =  new GuestBookDto(guestBook,guestBook.getGuestBookComments(), guestBookCommentArchiveRepository.countByGuestBookId(guestBook.getId()));
         return guestBookDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RevisionDto> getRevision(Long userId) {
+        return userRepository.findGuestBookRevisionById(userId);
+    }
+
+    // 최신 댓글은 hot 테이블에서, hot 테이블의 마지막 페이지부터는 archive 를 이어서 읽는다. (archive 는 오래된 댓글이므로 항상 hot 뒤에 온다)
+    @Override
+    @Transactional(readOnly = true)
+    public GuestBookCommentPageDto getGuestBookComments(Long userId, Pageable pageable) {
+        Long guestBookId = getGuestBookIdByUserId(userId);
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        long hotCount = guestBookCommentRepository.countByGuestBookId(guestBookId);
+
+        List<GuestBookCommentDto> guestBookCommentDtos = new ArrayList<>();
+        if (offset < hotCount) {
+            guestBookCommentRepository.findAllWithUserByGuestBookId(guestBookId, new OffsetPageRequest(offset, size))
+                    .forEach((gc) -> guestBookCommentDtos.add(new GuestBookCommentDto(gc)));
+        }
+        if (offset + size < hotCount) {
+            return new GuestBookCommentPageDto(guestBookCommentDtos, totalPages(hotCount, size));
+        }
+
+        long archiveCount = guestBookCommentArchiveRepository.countByGuestBookId(guestBookId);
+        int remaining = size - guestBookCommentDtos.size();
+        long archiveOffset = Math.max(0, offset - hotCount);
+        if (remaining > 0 && archiveOffset < archiveCount) {
+            List<GuestBookCommentArchive> archives = guestBookCommentArchiveRepository.findAllByGuestBookId(guestBookId, new OffsetPageRequest(archiveOffset, remaining));
+            List<Long> writerIds = archives.stream().map(GuestBookCommentArchive::getUserId).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            Map<Long, User> writers = userRepository.findAllById(writerIds).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+            archives.forEach((a) -> guestBookCommentDtos.add(new GuestBookCommentDto(a, writers.get(a.getUserId()))));
+        }
+        return new GuestBookCommentPageDto(guestBookCommentDtos, totalPages(hotCount + archiveCount, size));
+    }
+
     @Override
     @Transactional
     public GuestBookCommentDto updateGuestBookComment(GuestBookCommentDto guestBookCommentDto) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         GuestBookComment guestBookComment = getGuestBookCommentWithUserById(guestBookCommentDto.getId());
         if (validateCaller(guestBookComment.getUser().getId(),callerId)) {
+            outboxService.append(OutboxEvent.EventType.GUESTBOOK_COMMENT_UPDATED, guestBookComment.getId(), guestBookComment.getGuestBook().getId(), callerId);
+            revisionService.reviseGuestBook(guestBookComment.getGuestBook().getId());
             return new GuestBookCommentDto(guestBookComment.updateGuestBookComment(guestBookCommentDto));
         }else{
             throw new IllegalCallerException("방명록 작성자만 수정할 수 있습니다.");
@@ -65,10 +123,12 @@ public class GuestBookServiceImpl implements GuestBookService{
     @Override
     @Transactional
     public void deleteGuestBookComment(Long guestBookCommentId) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         GuestBookComment guestBookComment = getGuestBookCommentWithUserById(guestBookCommentId);
         if(validateCaller(guestBookComment.getUser().getId(),callerId)) {
             guestBookCommentRepository.delete(guestBookComment);
+            outboxService.append(OutboxEvent.EventType.GUESTBOOK_COMMENT_DELETED, guestBookCommentId, guestBookComment.getGuestBook().getId(), callerId);
+            revisionService.reviseGuestBook(guestBookComment.getGuestBook().getId());
         }else{
             throw new IllegalCallerException("방명록 작성자만 삭제할 수 있습니다.");
 
@@ -84,8 +144,23 @@ public class GuestBookServiceImpl implements GuestBookService{
 
     }
 
+    private Long getGuestBookIdByUserId(Long userId){
+        return userRepository.findGuestBookIdById(userId)
+                .orElseGet(()-> syncService.syncUser(userId).getGuestBook().getId());
+    }
+
+    private int totalPages(long count, int size){
+        return (int) ((count + size - 1) / size);
+    }
+
+    // archive 된 댓글은 읽기 전용이므로 수정/삭제 대상이 아니다. 없는 댓글과 구분해서 알려준다.
     private GuestBookComment getGuestBookCommentWithUserById(Long guestBookCommendId){
-        return guestBookCommentRepository.findGuestBookCommentWithUserById(guestBookCommendId).orElseThrow(()-> new NoSuchElementException("해당 방명록이 존재하지 않습니다."));
+        return guestBookCommentRepository.findGuestBookCommentWithUserById(guestBookCommendId).orElseThrow(()-> {
+            if (guestBookCommentArchiveRepository.existsById(guestBookCommendId)) {
+                return new UnsupportedOperationException("보관된 방명록 댓글은 수정하거나 삭제할 수 없습니다.");
+            }
+            return new NoSuchElementException("해당 방명록이 존재하지 않습니다.");
+        });
     }
 
     private boolean validateCaller(Long writerId, Long callerId){
@@ -108,8 +183,4 @@ public class GuestBookServiceImpl implements GuestBookService{
         return user;
     }
 
-    private Long getCallerIdFromSecurityContextHolder(){
-        User caller = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return caller.getId();
-    }
 }
@@ -0,0 +1,49 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
+import com.helloworldweb.helloworld_guestbook.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 도메인 이벤트를 outbox 에 추가한다. 호출한 서비스의 트랜잭션 안에서만 호출 가능(MANDATORY),
+     * 도메인 변경이 롤백되면 이벤트도 함께 롤백된다.
+     * @param eventType - 이벤트 종류
+     * @param aggregateId - 이벤트 대상(게시글, 방명록, 댓글)의 ID
+     * @param parentId - 대상이 속한 방명록 혹은 댓글의 ID, 없으면 null
+     * @param userId - 이벤트를 발생시킨 유저 ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEvent.EventType eventType, Long aggregateId, Long parentId, Long userId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("eventType", eventType.name());
+        payload.put("aggregateId", aggregateId);
+        payload.put("parentId", parentId);
+        payload.put("userId", userId);
+        payload.put("occurredAt", LocalDateTime.now().toString());
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(eventType)
+                    .aggregateId(aggregateId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox 이벤트를 직렬화할 수 없습니다.", e);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PostSubCommentService {
     /**
@@ -28,6 +30,13 @@ public interface PostSubCommentService {
      */
     PostSubCommentDto getPostSubComment(Long postSubCommentId);
 
+    /** R
+     * getRevision - 조건부 GET 을 위해 댓글이 달린 게시글의 revision 만 조회하는 메서드.
+     * @param postSubCommentId - 작성되어있는 PostSubComment의 ID
+     * @return revision, 마지막 변경 시각. 없는 댓글이면 empty
+     */
+    Optional<RevisionDto> getRevision(Long postSubCommentId);
+
     /** R
      * getAllMySubComments - 특정 유저가 작성한 모든 PostSubComments를 반환.
      * @param userId - 댓글 작성한 유저 ID
@@ -1,22 +1,25 @@
 package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
 import com.helloworldweb.helloworld_guestbook.domain.PostComment;
 import com.helloworldweb.helloworld_guestbook.domain.PostSubComment;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.RevisionDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
 import com.helloworldweb.helloworld_guestbook.repository.PostCommentRepository;
 import com.helloworldweb.helloworld_guestbook.repository.PostSubCommentRepository;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -28,12 +31,14 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
     private final PostCommentRepository postCommentRepository;
     private final PostSubCommentRepository postSubCommentRepository;
     private final SyncService syncService;
+    private final OutboxService outboxService;
+    private final RevisionService revisionService;
 
     @Override
     @Transactional
     //첫번째 댓글 작성.(존재하지 않는 PostComment)
     public PostSubCommentDto createPostSubComment(Long postId, PostSubCommentDto postSubCommentDto) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         BlogPost blogPost = getBlogPostById(postId);
         PostComment postComment = PostComment.builder().build();
         PostSubComment postSubComment = postSubCommentDto.toEntity();
@@ -48,6 +53,8 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
         
         postSubCommentRepository.save(postSubComment);
         //Id를 할당받아 리턴하기 위한 save.
+        outboxService.append(OutboxEvent.EventType.POST_SUB_COMMENT_CREATED, postSubComment.getId(), postComment.getId(), callerId);
+        revisionService.reviseBlogPost(blogPost.getId());
 
         return new PostSubCommentDto(postSubComment);
     }
@@ -56,8 +63,12 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
     @Transactional
     //존재하는 PostComment에 PostSubComment 추가.
     public PostSubCommentDto addPostSubComment(PostSubCommentDto postSubCommentDto) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         PostComment postComment = getPostCommentWithPostSubCommentsById(postSubCommentDto.getPostCommentId());
+        // 삭제 표시된 게시글(purge 전)의 댓글에는 대댓글을 달 수 없다. (getBlogPostById 와 같은 기준)
+        if (postComment.getBlogPost().isDeleted()) {
+            throw new NoSuchElementException("해당 포스트가 존재하지 않습니다.");
+        }
         User caller = getUserById(callerId);
 
         PostSubComment postSubComment = postSubCommentDto.toEntity();
@@ -66,6 +77,8 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
 
         postSubCommentRepository.save(postSubComment);
         //Id를 할당받아 리턴하기 위한 save.
+        outboxService.append(OutboxEvent.EventType.POST_SUB_COMMENT_CREATED, postSubComment.getId(), postComment.getId(), callerId);
+        revisionService.reviseBlogPostOfPostComment(postComment.getId());
         return new PostSubCommentDto(postSubComment);
     }
 
@@ -76,6 +89,12 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
         return new PostSubCommentDto(postSubComment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RevisionDto> getRevision(Long postSubCommentId) {
+        return postSubCommentRepository.findRevisionById(postSubCommentId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PostSubCommentDto> getAllSubCommentsByUserId(Long userId) {
@@ -86,9 +105,11 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
     @Override
     @Transactional
     public PostSubCommentDto updatePostSubComment(PostSubCommentDto postSubCommentDto) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         PostSubComment postSubComment = getPostSubCommentWithUserById(postSubCommentDto.getId());
         if (validateCaller(postSubComment.getUser().getId(),callerId)) {
+            outboxService.append(OutboxEvent.EventType.POST_SUB_COMMENT_UPDATED, postSubComment.getId(), postSubComment.getPostComment().getId(), callerId);
+            revisionService.reviseBlogPostOfPostComment(postSubComment.getPostComment().getId());
             return new PostSubCommentDto(postSubComment.updatePostSubComment(postSubCommentDto));
         }else{
             throw new IllegalCallerException("댓글 작성자만 수정할 수 있습니다.");
@@ -99,10 +120,12 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
     @Transactional
     //실제 데이터를 지우지 않고, 유저 연관을 끊고 내용 바꿈, postsubcomment -> user == null
     public void deletePostSubComment(Long postSubCommentId) {
-        Long callerId = getCallerIdFromSecurityContextHolder();
+        Long callerId = CallerPrincipal.currentUserId();
         PostSubComment postSubComment = getPostSubCommentWithUserById(postSubCommentId);
         if(validateCaller(postSubComment.getUser().getId(),callerId)){
             postSubComment.delete();
+            outboxService.append(OutboxEvent.EventType.POST_SUB_COMMENT_DELETED, postSubCommentId, postSubComment.getPostComment().getId(), callerId);
+            revisionService.reviseBlogPostOfPostComment(postSubComment.getPostComment().getId());
         }else{
             throw new IllegalCallerException("댓글 작성자만 삭제할 수 있습니다.");
         }
@@ -110,7 +133,8 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
     }
 
     private BlogPost getBlogPostById(Long id){
-        return blogPostRepository.findById(id).orElseThrow(()-> new NoSuchElementException("해당 포스트가 존재하지 않습니다."));
+        // findById 에는 삭제 필터가 적용되지 않는다.
+        return blogPostRepository.findById(id).filter((b) -> !b.isDeleted()).orElseThrow(()-> new NoSuchElementException("해당 포스트가 존재하지 않습니다."));
     }
 
     private PostComment getPostCommentWithPostSubCommentsById(Long id){
@@ -141,8 +165,4 @@ public class PostSubCommentServiceImpl implements PostSubCommentService{
         }
     }
 
-    private Long getCallerIdFromSecurityContextHolder(){
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return user.getId();
-    }
 }
@@ -0,0 +1,50 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostPageDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
+import com.helloworldweb.helloworld_guestbook.repository.ReactiveReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * BlogPostService.getBlogPost / getAllBlogPosts, GuestBookService.getGuestBook 의 non-blocking 읽기 전용 버전. 응답 DTO 는 같다.
+ * 읽기 전용이므로 게시글 조회수는 올리지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final ReactiveSyncService reactiveSyncService;
+
+    // 게시글과 댓글 트리를 동시에 조회한다.
+    public Mono<BlogPostDto> getBlogPost(Long blogPostId) {
+        return reactiveReadRepository.findBlogPostById(blogPostId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("해당 포스트가 존재하지 않습니다.")))
+                .zipWith(reactiveReadRepository.findPostCommentsByBlogPostId(blogPostId), (blogPostDto, postCommentDtos) -> {
+                    blogPostDto.setPostCommentDtos(postCommentDtos);
+                    return blogPostDto;
+                });
+    }
+
+    public Mono<BlogPostPageDto> getAllBlogPosts(Long userId, int page, int size) {
+        return reactiveReadRepository.findBlogPostsByUserId(userId, page, size)
+                .collectList()
+                .zipWith(reactiveReadRepository.countBlogPostsByUserId(userId),
+                        (blogPostDtos, count) -> new BlogPostPageDto(blogPostDtos, (int) ((count + size - 1) / size)));
+    }
+
+    // 로컬에 없는 유저는 user_server 에서 동기화한다. (빈 방명록)
+    public Mono<GuestBookDto> getGuestBook(Long userId) {
+        return reactiveReadRepository.findGuestBookIdByUserId(userId)
+                .switchIfEmpty(Mono.defer(() -> reactiveSyncService.syncUser(userId)))
+                .flatMap((guestBookId) -> reactiveReadRepository.findGuestBookCommentsByGuestBookId(guestBookId)
+                        .collectList()
+                        .zipWith(reactiveReadRepository.countArchivedGuestBookComments(guestBookId),
+                                (guestBookCommentDtos, archivedCommentCount) -> new GuestBookDto(guestBookId, userId, guestBookCommentDtos, archivedCommentCount)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.helloworldweb.helloworld_guestbook.jwt.ServiceCredentialProvider;
+import com.helloworldweb.helloworld_guestbook.repository.ReactiveReadRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import javax.persistence.NoResultException;
+
+/**
+ * SyncService.syncUser 의 non-blocking 버전. user_server 응답을 기다리는 동안 스레드를 붙잡지 않는다.
+ */
+@Service
+public class ReactiveSyncService {
+
+    private final ServiceCredentialProvider serviceCredentialProvider;
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final WebClient webClient;
+
+    public ReactiveSyncService(ServiceCredentialProvider serviceCredentialProvider,
+                               ReactiveReadRepository reactiveReadRepository,
+                               @Value("${sync.user-server.url:http://localhost:8080}") String userServerUrl) {
+        this.serviceCredentialProvider = serviceCredentialProvider;
+        this.reactiveReadRepository = reactiveReadRepository;
+        this.webClient = WebClient.builder()
+                .baseUrl(userServerUrl)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    // 로컬에 없는 유저를 user_server 에서 받아 빈 방명록과 함께 저장하고 방명록 id 를 돌려준다.
+    public Mono<Long> syncUser(Long userId) {
+        return webClient.get().uri(uriBuilder -> uriBuilder.path("/api/user/register/sync").queryParam("user_id", userId).build())
+                .header("Auth", serviceCredentialProvider.getToken(SyncService.USER_SERVER_AUDIENCE))
+                .retrieve()
+                .toEntity(String.class)
+                .flatMap((responseEntity) -> {
+                    //UserServer에도 존재하지 않는 유저인 경우
+                    if (responseEntity.getStatusCode().value() == 204 || responseEntity.getBody() == null) {
+                        return Mono.error(new NoResultException("해당 유저가 존재하지 않습니다."));
+                    }
+                    JsonObject data = JsonParser.parseString(responseEntity.getBody()).getAsJsonObject().getAsJsonObject("data");
+                    return reactiveReadRepository.insertUserWithGuestBook(SyncService.toUserDto(data));
+                });
+    }
+}
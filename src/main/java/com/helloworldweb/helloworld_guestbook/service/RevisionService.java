@@ -0,0 +1,75 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 게시글(댓글, 대댓글 포함)과 방명록(방명록 댓글 포함)의 revision 을 올린다. 조건부 GET 의 ETag, Last-Modified 기준 값이다.
+ * 동시에 댓글이 달려도 같은 revision 이 두 번 나오지 않도록 엔티티 값에 +1 하지 않고 DB 에서 원자적으로 올린다.
+ * revision 은 응답 본문에 없으므로 2차 캐시를 비우지 않는다. (query space 를 지정하지 않은 native update 는 모든 region 을 비운다)
+ */
+@Service
+public class RevisionService {
+
+    private static final String REVISION_SPACE = "aggregate_revision";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public void reviseBlogPost(Long blogPostId) {
+        update("update blog_post set revision = revision + 1, revised_time = :now where id = :id")
+                .setParameter("id", blogPostId)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public void reviseBlogPostOfPostComment(Long postCommentId) {
+        update("update blog_post set revision = revision + 1, revised_time = :now where id = (select pc.blogpost_id from post_comment pc where pc.id = :postCommentId)")
+                .setParameter("postCommentId", postCommentId)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public void reviseGuestBook(Long guestBookId) {
+        update("update guest_book set revision = revision + 1, revised_time = :now where id = :id")
+                .setParameter("id", guestBookId)
+                .executeUpdate();
+    }
+
+    // 유저 삭제 전, 유저가 댓글을 단 다른 유저의 게시글/방명록
+    @Transactional
+    public void reviseAllCommentedBy(Long userId) {
+        update("update blog_post set revision = revision + 1, revised_time = :now where id in "
+                + "(select pc.blogpost_id from post_comment pc join post_sub_comment psc on psc.post_comment_id = pc.id where psc.user_id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        update("update guest_book set revision = revision + 1, revised_time = :now where id in "
+                + "(select gc.guest_book_id from guest_book_comment gc where gc.user_id = :userId) "
+                + "or id in (select a.guest_book_id from guest_book_comment_archive a where a.user_id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+    // archive 로 옮기기 전, 옮길 댓글이 달린 방명록 (방명록 조회는 hot 테이블만 읽는다)
+    @Transactional
+    public void reviseGuestBooksOfComments(List<Long> guestBookCommentIds) {
+        update("update guest_book set revision = revision + 1, revised_time = :now where id in "
+                + "(select gc.guest_book_id from guest_book_comment gc where gc.id in (:ids))")
+                .setParameter("ids", guestBookCommentIds)
+                .executeUpdate();
+    }
+
+    private NativeQuery<?> update(String sql) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(REVISION_SPACE);
+        query.setParameter("now", LocalDateTime.now());
+        return query;
+    }
+}
@@ -7,10 +7,10 @@ import com.google.gson.JsonParser;
 import com.helloworldweb.helloworld_guestbook.domain.GuestBook;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
-import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.jwt.ServiceCredentialProvider;
 import com.helloworldweb.helloworld_guestbook.model.ApiResponse;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,20 +21,28 @@ import javax.persistence.NoResultException;
 import java.util.NoSuchElementException;
 
 @Service
-@RequiredArgsConstructor
 public class SyncService {
-    private final JwtTokenService jwtTokenService;
+    public static final String USER_SERVER_AUDIENCE = "user_server";
+
+    private final ServiceCredentialProvider serviceCredentialProvider;
     private final UserRepository userRepository;
+    private final WebClient webClient;
 
-    public User syncUser(Long userId) {
-        String token = jwtTokenService.createToken(String.valueOf(userId));
-        WebClient webClient = WebClient.builder()
-                .baseUrl("http://localhost:8080")
-                .defaultHeader("Auth",token)
+    public SyncService(ServiceCredentialProvider serviceCredentialProvider,
+                       UserRepository userRepository,
+                       @Value("${sync.user-server.url:http://localhost:8080}") String userServerUrl) {
+        this.serviceCredentialProvider = serviceCredentialProvider;
+        this.userRepository = userRepository;
+        // WebClient 는 thread-safe 하므로 한번만 만들고, 토큰은 요청마다 캐시된 값을 헤더로 붙인다.
+        this.webClient = WebClient.builder()
+                .baseUrl(userServerUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
+    }
 
+    public User syncUser(Long userId) {
         WebClient.ResponseSpec responseSpec = webClient.get().uri(uriBuilder -> uriBuilder.path("/api/user/register/sync").queryParam("user_id", userId).build())
+                .header("Auth", serviceCredentialProvider.getToken(USER_SERVER_AUDIENCE))
                 .retrieve();
 
         ResponseEntity<ApiResponse> responseEntity = responseSpec.toEntity(ApiResponse.class).block();
@@ -47,8 +55,17 @@ public class SyncService {
         String userData = responseEntity.getBody().getData().toString();
 
         JsonElement element = JsonParser.parseString(userData);
-        JsonObject object = element.getAsJsonObject();
+        UserDto userDto = toUserDto(element.getAsJsonObject());
 
+        GuestBook guestBook = GuestBook.builder().build();
+        User user = userDto.toEntity();
+        user.updateGuestBook(guestBook);
+
+        return userRepository.save(user);
+    }
+
+    // user_server 응답의 data. ReactiveSyncService 와 같이 사용한다.
+    static UserDto toUserDto(JsonObject object) {
         Long id = object.get("id").getAsLong();
         String email = object.has("email") ? object.get("email").getAsString(): null;
         String socialAccountId = object.has("socialAccountId")? object.get("socialAccountId").getAsString():null;
@@ -59,7 +76,7 @@ public class SyncService {
         String profileMusicUrl = object.has("profileMusicUrl")? object.get("profileMusicUrl").getAsString():null;
         String fcm = object.has("fcm")?object.get("fcm").getAsString():null;
 
-        UserDto userDto = UserDto.builder()
+        return UserDto.builder()
                 .id(id)
                 .email(email)
                 .socialAccountId(socialAccountId)
@@ -70,11 +87,5 @@ public class SyncService {
                 .profileMusicName(profileMusicName)
                 .fcm(fcm)
                 .build();
-
-        GuestBook guestBook = GuestBook.builder().build();
-        User user = userDto.toEntity();
-        user.updateGuestBook(guestBook);
-
-        return userRepository.save(user);
     }
 }
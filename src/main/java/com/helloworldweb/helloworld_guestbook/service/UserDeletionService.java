@@ -0,0 +1,115 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.domain.DeletedUser;
+import com.helloworldweb.helloworld_guestbook.repository.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 유저와 유저가 가진 데이터를 엔티티 단위 cascade 대신 bulk delete 로 지운다.
+ * 삭제 순서(FK 의존 순서): 게시글의 대댓글, 유저가 쓴 대댓글, 게시글 댓글, 게시글 이미지, 게시글, 방명록 댓글(archive 포함), 유저, 방명록
+ *
+ * user.delete.chunk-size 가 0 이면 하나의 트랜잭션에서 위 9개 쿼리와 댓글을 단 게시글, 방명록의 revision 갱신 쿼리 2개만 실행한다.
+ * 0 보다 크면 게시글을 chunk-size 개씩 (대댓글, 댓글, 이미지 포함) 각각의 트랜잭션에서 지워 lock 을 오래 잡지 않고,
+ * 나머지를 마지막 트랜잭션에서 지운다. 중간에 실패해도 다시 호출하면 남은 것부터 이어서 지운다.
+ * user_server 이벤트 버전이 있으면 유저를 지우는 마지막 트랜잭션에서 DeletedUser tombstone 을 같이 저장한다.
+ */
+@Slf4j
+@Service
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final GuestBookRepository guestBookRepository;
+    private final GuestBookCommentRepository guestBookCommentRepository;
+    private final GuestBookCommentArchiveRepository guestBookCommentArchiveRepository;
+    private final BlogPostRepository blogPostRepository;
+    private final PostCommentRepository postCommentRepository;
+    private final PostSubCommentRepository postSubCommentRepository;
+    private final PostImageRepository postImageRepository;
+    private final DeletedUserRepository deletedUserRepository;
+    private final RevisionService revisionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserDeletionService(UserRepository userRepository,
+                               GuestBookRepository guestBookRepository,
+                               GuestBookCommentRepository guestBookCommentRepository,
+                               GuestBookCommentArchiveRepository guestBookCommentArchiveRepository,
+                               BlogPostRepository blogPostRepository,
+                               PostCommentRepository postCommentRepository,
+                               PostSubCommentRepository postSubCommentRepository,
+                               PostImageRepository postImageRepository,
+                               DeletedUserRepository deletedUserRepository,
+                               RevisionService revisionService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${user.delete.chunk-size:0}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.guestBookRepository = guestBookRepository;
+        this.guestBookCommentRepository = guestBookCommentRepository;
+        this.guestBookCommentArchiveRepository = guestBookCommentArchiveRepository;
+        this.blogPostRepository = blogPostRepository;
+        this.postCommentRepository = postCommentRepository;
+        this.postSubCommentRepository = postSubCommentRepository;
+        this.postImageRepository = postImageRepository;
+        this.deletedUserRepository = deletedUserRepository;
+        this.revisionService = revisionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void deleteUser(Long userId) {
+        deleteUser(userId, null);
+    }
+
+    /**
+     * @param version - 삭제를 요청한 user_server 이벤트 버전, null 이면 tombstone 을 남기지 않는다.
+     */
+    public void deleteUser(Long userId, Long version) {
+        if (chunkSize > 0) {
+            int chunks = 0;
+            while (Boolean.TRUE.equals(transactionTemplate.execute((status) -> deleteBlogPostChunk(userId)))) {
+                chunks++;
+            }
+            log.debug("user {} 게시글 {} chunk 삭제", userId, chunks);
+        }
+        transactionTemplate.executeWithoutResult((status) -> deleteAll(userId, version));
+    }
+
+    private boolean deleteBlogPostChunk(Long userId) {
+        List<Long> blogPostIds = blogPostRepository.findIdsByUserId(userId, PageRequest.of(0, chunkSize));
+        if (blogPostIds.isEmpty()) {
+            return false;
+        }
+        postSubCommentRepository.deleteAllOnBlogPosts(blogPostIds);
+        postCommentRepository.deleteAllOnBlogPosts(blogPostIds);
+        postImageRepository.deleteAllOnBlogPosts(blogPostIds);
+        blogPostRepository.deleteByIds(blogPostIds);
+        return true;
+    }
+
+    private void deleteAll(Long userId, Long version) {
+        Long guestBookId = userRepository.findGuestBookIdById(userId).orElse(null);
+        // 다른 유저의 게시글, 방명록에서 이 유저의 댓글이 사라진다.
+        revisionService.reviseAllCommentedBy(userId);
+        postSubCommentRepository.deleteAllOnBlogPostsOfUser(userId);
+        postSubCommentRepository.deleteAllByUserId(userId);
+        postCommentRepository.deleteAllOnBlogPostsOfUser(userId);
+        postImageRepository.deleteAllOnBlogPostsOfUser(userId);
+        blogPostRepository.deleteAllByUserIdInBulk(userId);
+        guestBookCommentRepository.deleteAllByUserIdOrGuestBookId(userId, guestBookId);
+        guestBookCommentArchiveRepository.deleteAllByUserIdOrGuestBookId(userId, guestBookId);
+        userRepository.deleteUserById(userId);
+        if (guestBookId != null) {
+            guestBookRepository.deleteGuestBookById(guestBookId);
+        }
+        if (version != null) {
+            deletedUserRepository.save(new DeletedUser(userId, version));
+        }
+    }
+}
@@ -25,5 +25,21 @@ public interface UserService {
      */
     void deleteUser(Long userId);
 
+    /** C/U
+     * user_server 메시지 반영용 조건부 upsert. 존재하지 않으면 등록(GuestBook 포함), 존재하면 수정한다.
+     * 저장된 eventVersion 이상의 version 이 들어오면 반영하지 않는다. SyncService 를 호출하지 않는다.
+     * @param userDto - 유저 정보가 담긴 Dto
+     * @param version - 메시지의 이벤트 버전, null 이면 항상 반영
+     * @return 반영 이후(혹은 기존)의 User Dto
+     */
+    UserDto upsertUser(UserDto userDto, Long version);
+
+    /** D
+     * user_server 메시지 반영용 조건부 삭제. 존재하지 않는 유저면 아무것도 하지 않는다.
+     * @param userId - 삭제할 User의 ID
+     * @param version - 메시지의 이벤트 버전, null 이면 항상 반영
+     */
+    void deleteUser(Long userId, Long version);
+
 
 }
@@ -20,6 +20,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
@@ -28,6 +29,7 @@ public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     private final SyncService syncService;
     private final JwtTokenService jwtTokenService;
+    private final UserDeletionService userDeletionService;
 
     @Override
     @Transactional
@@ -46,14 +48,44 @@ public class UserServiceImpl implements UserService{
         return new UserDto(user);
     }
 
+    // 게시글, 댓글 수에 비례해 엔티티를 하나씩 지우지 않도록 bulk delete, chunk 단위 트랜잭션은 UserDeletionService 에서 관리
     @Override
-    @Transactional
     public void deleteUser(Long userId) {
         User user = getUserById(userId);
-        userRepository.delete(user);
+        userDeletionService.deleteUser(user.getId());
+    }
+
+
+
+    @Override
+    @Transactional
+    public UserDto upsertUser(UserDto userDto, Long version) {
+        Optional<User> existing = userRepository.findById(userDto.getId());
+        if (existing.isPresent()) {
+            User user = existing.get();
+            if (!isStale(user.getEventVersion(), version)) {
+                user.updateUser(userDto);
+                user.updateEventVersion(version);
+            }
+            return new UserDto(user);
+        }
+        GuestBook guestBook = GuestBook.builder().build();
+        User user = userDto.toEntity();
+        user.updateGuestBook(guestBook);
+        user.updateEventVersion(version);
+        return new UserDto(userRepository.save(user));
     }
 
+    @Override
+    public void deleteUser(Long userId, Long version) {
+        userRepository.findById(userId)
+                .filter((user) -> !isStale(user.getEventVersion(), version))
+                .ifPresent((user) -> userDeletionService.deleteUser(user.getId(), version));
+    }
 
+    private boolean isStale(Long appliedVersion, Long version){
+        return appliedVersion != null && version != null && version <= appliedVersion;
+    }
 
     private User getUserById(Long userId){
         return userRepository.findById(userId).orElseGet(()-> syncService.syncUser(userId));
@@ -0,0 +1,174 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.dto.MethodMetricsDto;
+import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.service.BlogPostService;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class MethodMetricsAspectTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MethodMetricsAspect methodMetricsAspect;
+
+    @Autowired
+    BlogPostService blogPostService;
+
+    @Autowired
+    JwtTokenService jwtTokenService;
+
+    @MockBean
+    SyncService syncService;
+
+    @AfterEach
+    void restore(){
+        methodMetricsAspect.configure(true, 1.0);
+    }
+
+    @Test
+    void 서비스_레포지토리_메소드별_지연시간기록(){
+        //given
+        double calls = calls("BlogPostServiceImpl", "getRevision");
+
+        //when
+        blogPostService.getRevision(-1L);
+
+        //then
+        assertThat(calls("BlogPostServiceImpl", "getRevision")).isEqualTo(calls + 1);
+        assertThat(timer("BlogPostServiceImpl", "getRevision", "success").count()).isPositive();
+        // Spring Data repository 는 proxy 클래스 대신 repository 인터페이스 이름으로 기록
+        assertThat(timer("BlogPostRepository", "findRevisionById", "success").count()).isPositive();
+    }
+
+    @Test
+    void 예외는_에러수와_error_outcome으로기록(){
+        //given
+        double errors = errors("BlogPostServiceImpl", "getBlogPost");
+
+        //when
+        assertThatThrownBy(() -> blogPostService.getBlogPost(-1L)).isInstanceOf(NoSuchElementException.class);
+
+        //then
+        assertThat(errors("BlogPostServiceImpl", "getBlogPost")).isEqualTo(errors + 1);
+        assertThat(timer("BlogPostServiceImpl", "getBlogPost", "error").count()).isPositive();
+    }
+
+    @Test
+    void 샘플링0이면_호출수만_꺼지면_기록없음(){
+        //given
+        blogPostService.getRevision(-1L);
+        long timed = timer("BlogPostServiceImpl", "getRevision", "success").count();
+        double calls = calls("BlogPostServiceImpl", "getRevision");
+
+        //when
+        methodMetricsAspect.configure(null, 0.0);
+        blogPostService.getRevision(-1L);
+        methodMetricsAspect.configure(false, null);
+        blogPostService.getRevision(-1L);
+
+        //then
+        assertThat(calls("BlogPostServiceImpl", "getRevision")).isEqualTo(calls + 1);
+        assertThat(timer("BlogPostServiceImpl", "getRevision", "success").count()).isEqualTo(timed);
+    }
+
+    @Test
+    void 요약API와_Prometheus형식_노출() throws Exception {
+        //given
+        blogPostService.getRevision(-1L);
+
+        //when
+        MethodMetricsDto summary = methodMetricsAspect.summarize();
+
+        //then
+        assertThat(summary.getMethods()).anyMatch((stat) -> stat.getClassName().equals("BlogPostServiceImpl") && stat.getMethod().equals("getRevision"));
+        String adminToken = jwtTokenService.createToken(String.valueOf(1L), List.of(SecurityConfig.ADMIN_ROLE));
+        mvc.perform(MockMvcRequestBuilders.put("/blog/api/admin/metrics/methods").param("sample_rate", "0.5").cookie(new Cookie("Auth", adminToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sampleRate").value(0.5));
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/diagnostics/methods").cookie(new Cookie("Auth", adminToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.enabled").value(true));
+        mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("app_method_seconds_bucket{class=\"BlogPostServiceImpl\",method=\"getRevision\",outcome=\"success\"")));
+    }
+
+    @Test
+    void 지표설정API와_Prometheus_관리자토큰없으면_403() throws Exception {
+        //given
+        String userToken = jwtTokenService.createToken(String.valueOf(1L));
+
+        //when
+        //then
+        mvc.perform(MockMvcRequestBuilders.put("/blog/api/admin/metrics/methods").param("enabled", "false"))
+                .andExpect(status().isForbidden());
+        mvc.perform(MockMvcRequestBuilders.put("/blog/api/admin/metrics/methods").param("enabled", "false").cookie(new Cookie("Auth", userToken)))
+                .andExpect(status().isForbidden());
+        mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(status().isOk());
+        assertThat(methodMetricsAspect.summarize().isEnabled()).isTrue();
+    }
+
+    @Test
+    void 진단API_관리자토큰없으면_403() throws Exception {
+        //given
+        String userToken = jwtTokenService.createToken(String.valueOf(1L));
+
+        //when
+        //then
+        for (String diagnostics : List.of("queries", "methods", "cache", "kafka")) {
+            mvc.perform(MockMvcRequestBuilders.get("/blog/api/diagnostics/" + diagnostics))
+                    .andExpect(status().isForbidden());
+            mvc.perform(MockMvcRequestBuilders.get("/blog/api/diagnostics/" + diagnostics).cookie(new Cookie("Auth", userToken)))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    private Timer timer(String className, String method, String outcome){
+        return meterRegistry.get("app.method").tag("class", className).tag("method", method).tag("outcome", outcome).timer();
+    }
+
+    private double calls(String className, String method){
+        Counter counter = meterRegistry.find("app.method.calls").tag("class", className).tag("method", method).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double errors(String className, String method){
+        Counter counter = meterRegistry.find("app.method.errors").tag("class", className).tag("method", method).tag("exception", "NoSuchElementException").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
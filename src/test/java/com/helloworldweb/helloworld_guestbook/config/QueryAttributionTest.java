@@ -0,0 +1,76 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.controller.BlogPostController;
+import com.helloworldweb.helloworld_guestbook.dto.QueryDiagnosticsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class QueryAttributionTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    QueryAttribution queryAttribution = new QueryAttribution(meterRegistry, 2, 500L, 2);
+
+    @Test
+    void 요청별_쿼리수_핸들러귀속() throws Exception {
+        //given
+        Method method = BlogPostController.class.getDeclaredMethod("getBlogPostById", Long.class);
+        HandlerMethod handler = new HandlerMethod(mock(BlogPostController.class), method);
+
+        //when
+        queryAttribution.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+        execute("select * from blog_post where id=?", 3L, 1L);
+        execute("select * from post_comment where blog_post_id=?", 1L, 1L);
+        execute("update blog_post set views=? where id=?", 1L, 1L);
+        queryAttribution.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), handler, null);
+
+        //then
+        assertThat(meterRegistry.get("db.request.statements").tag("handler", "BlogPostController.getBlogPostById")
+                .summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("db.request.time").tag("handler", "BlogPostController.getBlogPostById")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void 느린쿼리_topN_유지(){
+        //given, when
+        execute("select 1", 10L, 1L);
+        execute("select 2", 30L, 1L);
+        execute("select 3", 20L, 1L);
+
+        //then
+        List<QueryDiagnosticsDto.SlowStatement> slowest = queryAttribution.diagnose().getSlowestStatements();
+        assertThat(slowest).extracting(QueryDiagnosticsDto.SlowStatement::getSql).containsExactly("select 2", "select 3");
+        assertThat(slowest.get(0).getHandler()).isEqualTo(QueryAttribution.BACKGROUND);
+        assertThat(slowest.get(0).getBindShape()).isEqualTo("[Long]");
+    }
+
+    private void execute(String sql, long elapsedMillis, Long bindValue){
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(List.of(
+                new ParameterSetOperation(setLong(), new Object[]{1, bindValue})));
+        queryAttribution.afterQuery(executionInfo, List.of(queryInfo));
+    }
+
+    private static Method setLong(){
+        try {
+            return PreparedStatement.class.getMethod("setLong", int.class, long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.helloworldweb.helloworld_guestbook.config;
+
+import com.helloworldweb.helloworld_guestbook.domain.User;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//primary/replica 를 서로 다른 in-memory H2 로 띄우고, 트랜잭션 안에서 DATABASE() 로 어느 쪽으로 갔는지 확인한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.username=sa",
+        "spring.datasource.replica.max-lag-ms=5000",
+        "spring.datasource.replica.heartbeat-interval-ms=3600000",
+        "spring.datasource.replica.read-your-writes-ms=60000"
+})
+public class ReplicaRoutingTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    SyncService syncService;
+
+    @BeforeEach
+    void replica_heartbeat갱신(){
+        //실제 복제가 없으므로 replica 의 heartbeat 를 직접 갱신한다.
+        replicaHeartbeat(System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void ContextHolder초기화(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnly트랜잭션_replica(){
+        assertThat(database(true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void 쓰기트랜잭션_primary(){
+        assertThat(database(false)).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    void replica지연초과_primary(){
+        //given
+        replicaHeartbeat(System.currentTimeMillis() - 10_000);
+
+        //when
+        String database = database(true);
+
+        //then
+        assertThat(database).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    void 본인쓰기후_readOnly_primary_다른유저_replica(){
+        //given
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(8001L, Long.MAX_VALUE)));
+        database(false);
+
+        //when
+        String writerDatabase = database(true);
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(8002L, Long.MAX_VALUE)));
+        String otherDatabase = database(true);
+
+        //then
+        assertThat(writerDatabase).isEqualToIgnoringCase("primary");
+        assertThat(otherDatabase).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void replica지연중_readOnly조회_2차캐시에_올리지않음(){
+        //given
+        Long userId = 8101L;
+        jdbcTemplate.update("insert into \"USER\" (id, email, nick_name) values (?, ?, ?)", userId, "replica@email.com", "primary값");
+        copyTableToReplica("USER");
+        new JdbcTemplate(replicaDataSource).update("insert into \"USER\" (id, email, nick_name) values (?, ?, ?)", userId, "replica@email.com", "지연된값");
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        //when
+        String replicaNickName = findNickName(userId, true);
+        boolean cachedAfterReplicaRead = sessionFactory.getCache().containsEntity(User.class, userId);
+        String primaryNickName = findNickName(userId, false);
+
+        //then
+        assertThat(replicaNickName).isEqualTo("지연된값");
+        assertThat(cachedAfterReplicaRead).isFalse();
+        assertThat(primaryNickName).isEqualTo("primary값");
+        assertThat(sessionFactory.getCache().containsEntity(User.class, userId)).isTrue();
+        assertThat(findNickName(userId, true)).isEqualTo("primary값");
+    }
+
+    private String findNickName(Long userId, boolean readOnly){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute((status) -> userRepository.findById(userId).orElseThrow().getNickName());
+    }
+
+    //primary 의 테이블 정의(ddl-auto 로 생성)를 replica 에 그대로 만든다.
+    private void copyTableToReplica(String table){
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        for (String statement : jdbcTemplate.queryForList("SCRIPT NO DATA TABLE \"" + table + "\"", String.class)) {
+            if (statement.startsWith("CREATE MEMORY TABLE") || statement.startsWith("CREATE CACHED TABLE")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    private String database(boolean readOnly){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute((status) -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+    }
+
+    private void replicaHeartbeat(long beatAt){
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_heartbeat (id int primary key, beat_at bigint not null)");
+        if (replica.update("update replica_heartbeat set beat_at = ? where id = 1", beatAt) == 0) {
+            replica.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", beatAt);
+        }
+        replicaLagMonitor.check();
+    }
+}
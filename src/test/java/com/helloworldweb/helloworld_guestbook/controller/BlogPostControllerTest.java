@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
 import com.helloworldweb.helloworld_guestbook.service.*;
 import org.junit.jupiter.api.Test;
@@ -14,7 +16,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -292,7 +293,7 @@ public class BlogPostControllerTest {
 
         User user = userDto.toEntity();
         userService.addUser(userDto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content1")
@@ -326,7 +327,7 @@ public class BlogPostControllerTest {
         String token = jwtTokenService.createToken(String.valueOf(1L));
 
         User user = userDto.toEntity();
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get("/api/blogpost")
@@ -350,7 +351,7 @@ public class BlogPostControllerTest {
         String token = jwtTokenService.createToken(String.valueOf(1L));
 
         User user = userDto.toEntity();
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         userService.addUser(userDto);
 
@@ -398,7 +399,7 @@ public class BlogPostControllerTest {
         String token = jwtTokenService.createToken(String.valueOf(2L));
 
         User user = userDto.toEntity();
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         userService.addUser(userDto);
 
@@ -470,7 +471,7 @@ public class BlogPostControllerTest {
 
         User user = userDto.toEntity();
         userService.addUser(userDto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content1")
@@ -501,7 +502,7 @@ public class BlogPostControllerTest {
 
         User user = userDto.toEntity();
         userService.addUser(userDto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",user.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content1")
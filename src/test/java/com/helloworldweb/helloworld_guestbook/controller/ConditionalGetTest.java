@@ -0,0 +1,164 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
+import com.helloworldweb.helloworld_guestbook.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    BlogPostService blogPostService;
+
+    @Autowired
+    GuestBookService guestBookService;
+
+    @Autowired
+    PostSubCommentService postSubCommentService;
+
+    @Autowired
+    BlogPostRepository blogPostRepository;
+
+    @MockBean
+    SyncService syncService;
+
+    @AfterEach
+    void clearCaller(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 게시글조회_변경없으면_게시글을읽지않고_304() throws Exception {
+        //given
+        Long writer = addUser(46_001L);
+        as(writer);
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용").build()).getId();
+        String eTag = mvc.perform(MockMvcRequestBuilders.get("/blog/api/blogpost").param("blogpost_id", String.valueOf(blogPostId)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Long views = blogPostRepository.findById(blogPostId).get().getViews();
+
+        //when
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/blog/api/blogpost")
+                        .param("blogpost_id", String.valueOf(blogPostId))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        //then
+        assertThat(eTag).startsWith("W/\"");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(result.getResponse().getContentLength()).isZero();
+        assertThat(blogPostRepository.findById(blogPostId).get().getViews()).isEqualTo(views);
+    }
+
+    @Test
+    void 대댓글변경시_게시글과댓글ETag_변경() throws Exception {
+        //given
+        Long writer = addUser(46_002L);
+        as(writer);
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용").build()).getId();
+        PostSubCommentDto comment = postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글").build());
+        String postETag = eTag("/blog/api/blogpost?blogpost_id=" + blogPostId);
+        String commentETag = eTag("/blog/api/postsubcomment?postsubcomment_id=" + comment.getId());
+
+        //when
+        postSubCommentService.addPostSubComment(PostSubCommentDto.builder().postCommentId(comment.getPostCommentId()).content("대댓글").build());
+
+        //then
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/blogpost")
+                        .param("blogpost_id", String.valueOf(blogPostId))
+                        .header(HttpHeaders.IF_NONE_MATCH, postETag))
+                .andExpect(status().isOk());
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/postsubcomment")
+                        .param("postsubcomment_id", String.valueOf(comment.getId()))
+                        .header(HttpHeaders.IF_NONE_MATCH, commentETag))
+                .andExpect(status().isOk());
+        assertThat(eTag("/blog/api/blogpost?blogpost_id=" + blogPostId)).isNotEqualTo(postETag);
+    }
+
+    @Test
+    void 방명록_IfModifiedSince_304_댓글작성후_200() throws Exception {
+        //given
+        Long owner = addUser(46_003L);
+        as(addUser(46_004L));
+        guestBookService.addGuestBookComment(owner, GuestBookCommentDto.builder().content("방명록").build());
+        MvcResult first = mvc.perform(MockMvcRequestBuilders.get("/blog/api/guestbook").param("user_id", String.valueOf(owner)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        //when
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/guestbook")
+                        .param("user_id", String.valueOf(owner))
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/guestbook/comments")
+                        .param("user_id", String.valueOf(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        guestBookService.addGuestBookComment(owner, GuestBookCommentDto.builder().content("방명록2").build());
+
+        //then
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/guestbook")
+                        .param("user_id", String.valueOf(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void 없는게시글_ETag없이_기존에러응답() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/blogpost")
+                        .param("blogpost_id", "-1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String eTag(String url) throws Exception {
+        return mvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Long addUser(Long userId){
+        userService.addUser(UserDto.builder().id(userId).email(userId + "@email.com").build());
+        return userId;
+    }
+
+    private void as(Long userId){
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+}
@@ -6,6 +6,8 @@ import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
 import com.helloworldweb.helloworld_guestbook.service.GuestBookService;
 import com.helloworldweb.helloworld_guestbook.service.SyncService;
@@ -18,7 +20,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -219,7 +220,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                         .content("content1")
@@ -254,7 +255,7 @@ public class GuestBookControllerTest {
 //
 //        UserDto savedDto = userService.addUser(user1Dto);
 //        userService.addUser(user2Dto);
-//        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+//        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 //
 //        GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
 //                .content("content1")
@@ -288,7 +289,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -336,7 +337,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -382,7 +383,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -430,7 +431,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -470,7 +471,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -506,7 +507,7 @@ public class GuestBookControllerTest {
 
         UserDto savedDto = userService.addUser(user1Dto);
         userService.addUser(user2Dto);
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user2Dto.toEntity(),"",user2Dto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(user2Dto.getId(), Long.MAX_VALUE)));
 
         GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder()
                 .content("content1")
@@ -0,0 +1,73 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.helloworldweb.helloworld_guestbook.config.SecurityConfig;
+import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.kafka.UserServerDeadLetterReplayer;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class KafkaAdminControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JwtTokenService jwtTokenService;
+
+    @MockBean
+    UserServerDeadLetterReplayer userServerDeadLetterReplayer;
+
+    @MockBean
+    SyncService syncService;
+
+    @Test
+    void DLT재전송_토큰없음_403() throws Exception {
+        //when
+        mvc.perform(MockMvcRequestBuilders.post("/blog/api/admin/kafka/dlt/replay"))
+        //then
+                .andExpect(status().isForbidden());
+        verify(userServerDeadLetterReplayer, never()).replay(anyInt());
+    }
+
+    @Test
+    void DLT재전송_일반유저토큰_403() throws Exception {
+        //given
+        String token = jwtTokenService.createToken(String.valueOf(1L));
+
+        //when
+        mvc.perform(MockMvcRequestBuilders.post("/blog/api/admin/kafka/dlt/replay").cookie(new Cookie("Auth", token)))
+        //then
+                .andExpect(status().isForbidden());
+        verify(userServerDeadLetterReplayer, never()).replay(anyInt());
+    }
+
+    @Test
+    void DLT재전송_관리자토큰_성공() throws Exception {
+        //given
+        String token = jwtTokenService.createToken(String.valueOf(1L), List.of(SecurityConfig.ADMIN_ROLE));
+        given(userServerDeadLetterReplayer.replay(10)).willReturn(3);
+
+        //when
+        mvc.perform(MockMvcRequestBuilders.post("/blog/api/admin/kafka/dlt/replay").param("max", "10").cookie(new Cookie("Auth", token)))
+        //then
+                .andExpect(status().isOk());
+        verify(userServerDeadLetterReplayer).replay(10);
+    }
+}
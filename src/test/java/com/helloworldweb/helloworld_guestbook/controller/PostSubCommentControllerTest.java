@@ -5,6 +5,8 @@ import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
 import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
 import com.helloworldweb.helloworld_guestbook.service.BlogPostService;
 import com.helloworldweb.helloworld_guestbook.service.PostSubCommentService;
@@ -17,7 +19,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -71,7 +72,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -111,7 +112,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -149,7 +150,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -193,7 +194,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -236,7 +237,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -286,7 +287,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -334,7 +335,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -384,7 +385,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -421,7 +422,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -459,7 +460,7 @@ public class PostSubCommentControllerTest {
 
         UserDto savedUserDto = userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -502,7 +503,7 @@ public class PostSubCommentControllerTest {
 //
 //        UserDto savedUserDto = userService.addUser(userDto);
 //
-//        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+//        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 //
 //        BlogPostDto blogPostDto = BlogPostDto.builder()
 //                .content("content")
@@ -546,7 +547,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -595,7 +596,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -643,7 +644,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -691,7 +692,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -740,7 +741,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -781,7 +782,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -818,7 +819,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
@@ -857,7 +858,7 @@ public class PostSubCommentControllerTest {
 
         userService.addUser(userDto);
 
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDto.toEntity(),"",userDto.toEntity().getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userDto.getId(), Long.MAX_VALUE)));
 
         BlogPostDto blogPostDto = BlogPostDto.builder()
                 .content("content")
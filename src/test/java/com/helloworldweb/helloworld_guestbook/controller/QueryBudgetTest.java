@@ -0,0 +1,353 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.Cookie;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.helloworldweb.helloworld_guestbook.controller.SqlStatementRecorder.assertSameCount;
+import static com.helloworldweb.helloworld_guestbook.controller.SqlStatementRecorder.assertWithinBudget;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 수 예산. 실제 H2 에 데이터를 넣고 MockMvc 로 호출해 Hibernate 가 실행한 SQL 을 센다.
+ * 댓글 1개/20개 짜리 데이터로 각각 호출해 수가 같은지(N+1 이 없는지)와 예산 이내인지 확인하고, 넘으면 실행된 SQL 을 모두 출력한다.
+ * 2차 캐시가 N+1 을 가리지 않도록 매 호출 전에 캐시를 비운다. (캐시 미스 기준 최악의 경우)
+ * 요청 트랜잭션이 그대로 커밋되어야 update/insert 까지 세어지므로 @Transactional 을 쓰지 않고, 유저 id 를 테스트마다 새로 뽑는다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.helloworldweb.helloworld_guestbook.controller.SqlStatementRecorder")
+@AutoConfigureMockMvc
+public class QueryBudgetTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 20;
+    private static final AtomicLong USER_IDS = new AtomicLong(42_000L);
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    BlogPostService blogPostService;
+
+    @Autowired
+    GuestBookService guestBookService;
+
+    @Autowired
+    PostSubCommentService postSubCommentService;
+
+    @Autowired
+    JwtTokenService jwtTokenService;
+
+    @MockBean
+    SyncService syncService;
+
+    @AfterEach
+    void clearCaller(){
+        SecurityContextHolder.clearContext();
+    }
+
+    // 작성자 + 작성자 게시글 컬렉션 조인, insert 2건(게시글, outbox)
+    @Test
+    void 게시글작성_쿼리예산(){
+        assertBudget("POST /api/blogpost", 3, (owner, size) -> {
+            for (int i = 0; i < size; i++) {
+                seedBlogPost(owner, 0);
+            }
+            BlogPostDto blogPostDto = BlogPostDto.builder().title("제목").content("내용").build();
+            return MockMvcRequestBuilders.post("/blog/api/blogpost")
+                    .cookie(auth(owner))
+                    .content(objectMapper.writeValueAsString(blogPostDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // revision(ETag), 게시글 + 작성자 조인, 댓글, 대댓글(batch), 대댓글 작성자(batch), 조회수(DB 반영분)
+    @Test
+    void 게시글조회_쿼리예산(){
+        assertBudget("GET /api/blogpost", 6, (owner, size) -> {
+            Long blogPostId = seedBlogPost(owner, size);
+            return get("/blog/api/blogpost", owner).param("blogpost_id", String.valueOf(blogPostId));
+        });
+    }
+
+    // 페이지 조회, count, 목록(작성자 조인)
+    @Test
+    void 게시글목록조회_쿼리예산(){
+        assertBudget("GET /api/blogpost/all", 3, (owner, size) -> {
+            for (int i = 0; i < size; i++) {
+                seedBlogPost(owner, 0);
+            }
+            return get("/blog/api/blogpost/all", owner).param("user_id", String.valueOf(owner)).param("size", "30");
+        });
+    }
+
+    // 게시글 + 작성자 조인, 게시글 update, revision update, 병합 전이로 읽는 댓글/이미지/대댓글(batch), outbox insert
+    @Test
+    void 게시글수정_쿼리예산(){
+        assertBudget("PUT /api/blogpost", 7, (owner, size) -> {
+            Long blogPostId = seedBlogPost(owner, size);
+            BlogPostDto blogPostDto = BlogPostDto.builder().id(blogPostId).title("수정").content("수정된 내용").build();
+            return MockMvcRequestBuilders.put("/blog/api/blogpost")
+                    .cookie(auth(owner))
+                    .content(objectMapper.writeValueAsString(blogPostDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // 게시글 + 작성자 조인, 삭제표시 update, outbox insert
+    @Test
+    void 게시글삭제_쿼리예산(){
+        assertBudget("DELETE /api/blogpost", 3, (owner, size) -> {
+            Long blogPostId = seedBlogPost(owner, size);
+            return MockMvcRequestBuilders.delete("/blog/api/blogpost")
+                    .cookie(auth(owner))
+                    .param("blogpost_id", String.valueOf(blogPostId));
+        });
+    }
+
+    // 게시글, 작성자, 게시글 댓글/작성자 대댓글 컬렉션(연관관계 편의 메소드), insert 3건(댓글, 대댓글, outbox), 게시글 revision update
+    @Test
+    void 첫댓글작성_쿼리예산(){
+        assertBudget("POST /api/postsubcomment", 8, (owner, size) -> {
+            Long blogPostId = seedBlogPost(owner, size);
+            PostSubCommentDto postSubCommentDto = PostSubCommentDto.builder().content("첫 댓글").build();
+            return MockMvcRequestBuilders.post("/blog/api/postsubcomment")
+                    .cookie(auth(owner))
+                    .param("blogpost_id", String.valueOf(blogPostId))
+                    .content(objectMapper.writeValueAsString(postSubCommentDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // 댓글 + 대댓글 조인, 게시글(삭제 여부), 작성자, 작성자 대댓글 컬렉션, insert 2건(대댓글, outbox), 게시글 revision update
+    @Test
+    void 대댓글작성_쿼리예산(){
+        assertBudget("POST /api/postsubcomment (post_comment_id)", 7, (owner, size) -> {
+            PostSubCommentDto first = seedThread(owner, size);
+            PostSubCommentDto postSubCommentDto = PostSubCommentDto.builder().postCommentId(first.getPostCommentId()).content("대댓글").build();
+            return MockMvcRequestBuilders.post("/blog/api/postsubcomment")
+                    .cookie(auth(owner))
+                    .content(objectMapper.writeValueAsString(postSubCommentDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // revision(ETag), 대댓글 + 댓글 + 작성자 조인
+    @Test
+    void 대댓글조회_쿼리예산(){
+        assertBudget("GET /api/postsubcomment", 2, (owner, size) -> {
+            PostSubCommentDto first = seedThread(owner, size);
+            return get("/blog/api/postsubcomment", owner).param("postsubcomment_id", String.valueOf(first.getId()));
+        });
+    }
+
+    // 대댓글 + 댓글 + 작성자 조인, 대댓글 update, outbox insert, 게시글 revision update
+    @Test
+    void 대댓글수정_쿼리예산(){
+        assertBudget("PUT /api/postsubcomment", 4, (owner, size) -> {
+            PostSubCommentDto first = seedThread(owner, size);
+            PostSubCommentDto postSubCommentDto = PostSubCommentDto.builder().id(first.getId()).content("수정").build();
+            return MockMvcRequestBuilders.put("/blog/api/postsubcomment")
+                    .cookie(auth(owner))
+                    .content(objectMapper.writeValueAsString(postSubCommentDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // 대댓글 + 댓글 + 작성자 조인, 작성자 대댓글 컬렉션(연관 끊기), 대댓글 update, outbox insert, 게시글 revision update
+    @Test
+    void 대댓글삭제_쿼리예산(){
+        assertBudget("DELETE /api/postsubcomment", 5, (owner, size) -> {
+            PostSubCommentDto first = seedThread(owner, size);
+            return MockMvcRequestBuilders.delete("/blog/api/postsubcomment")
+                    .cookie(auth(owner))
+                    .param("postsubcomment_id", String.valueOf(first.getId()));
+        });
+    }
+
+    // 유저, 유저의 대댓글 (작성자는 모두 같은 유저)
+    @Test
+    void 유저대댓글조회_쿼리예산(){
+        assertBudget("GET /api/postsubcomment/user", 2, (owner, size) -> {
+            Long blogPostId = seedBlogPost(owner, 0);
+            as(owner);
+            for (int i = 0; i < size; i++) {
+                postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글" + i).build());
+            }
+            return get("/blog/api/postsubcomment/user", owner).param("user_id", String.valueOf(owner));
+        });
+    }
+
+    // revision(ETag), 유저 + 방명록 + 방명록 댓글 조인, 방명록 주인(1:1 역방향), 댓글 작성자(batch), archive 댓글 count
+    @Test
+    void 방명록조회_쿼리예산(){
+        assertBudget("GET /api/guestbook", 5, (owner, size) -> {
+            seedGuestBook(owner, size);
+            return get("/blog/api/guestbook", owner).param("user_id", String.valueOf(owner));
+        });
+    }
+
+    // revision(ETag), 방명록 id, hot 댓글 count, hot 댓글 페이지(작성자 조인). 두 데이터 모두 hot 페이지 안에서 끝나도록 page size 를 SMALL 로 둔다.
+    @Test
+    void 방명록댓글페이지조회_쿼리예산(){
+        assertBudget("GET /api/guestbook/comments", 4, (owner, size) -> {
+            seedGuestBook(owner, size + 1);
+            return get("/blog/api/guestbook/comments", owner).param("user_id", String.valueOf(owner)).param("size", String.valueOf(SMALL));
+        });
+    }
+
+    // 작성자, 방명록 조인 조회, 방명록 주인, 작성자 방명록 댓글 컬렉션, 기존 댓글 작성자(batch), insert 2건(댓글, outbox), 방명록 revision update, archive 댓글 count
+    @Test
+    void 방명록댓글작성_쿼리예산(){
+        assertBudget("POST /api/guestbook", 9, (owner, size) -> {
+            seedGuestBook(owner, size);
+            GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder().content("방명록").build();
+            return MockMvcRequestBuilders.post("/blog/api/guestbook")
+                    .cookie(auth(owner))
+                    .param("user_id", String.valueOf(owner))
+                    .content(objectMapper.writeValueAsString(guestBookCommentDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // 방명록 댓글 + 작성자 조인, 댓글 update, outbox insert, 방명록 revision update
+    @Test
+    void 방명록댓글수정_쿼리예산(){
+        assertBudget("PUT /api/guestbook", 4, (owner, size) -> {
+            Long guestBookCommentId = seedOwnGuestBookComment(owner, size);
+            GuestBookCommentDto guestBookCommentDto = GuestBookCommentDto.builder().id(guestBookCommentId).reply("답글").build();
+            return MockMvcRequestBuilders.put("/blog/api/guestbook")
+                    .cookie(auth(owner))
+                    .content(objectMapper.writeValueAsString(guestBookCommentDto))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    // 방명록 댓글 + 작성자 조인, 댓글 delete, outbox insert, 방명록 revision update
+    @Test
+    void 방명록댓글삭제_쿼리예산(){
+        assertBudget("DELETE /api/guestbook", 4, (owner, size) -> {
+            Long guestBookCommentId = seedOwnGuestBookComment(owner, size);
+            return MockMvcRequestBuilders.delete("/blog/api/guestbook")
+                    .cookie(auth(owner))
+                    .param("guestbook_comment_id", String.valueOf(guestBookCommentId));
+        });
+    }
+
+    private void assertBudget(String endpoint, int budget, Scenario scenario){
+        try {
+            List<String> small = perform(scenario.prepare(newUser(), SMALL));
+            List<String> large = perform(scenario.prepare(newUser(), LARGE));
+            assertWithinBudget(endpoint, small, budget);
+            assertWithinBudget(endpoint, large, budget);
+            assertSameCount(endpoint, small, large);
+        } catch (AssertionError e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(endpoint + " 호출 실패", e);
+        }
+    }
+
+    private List<String> perform(MockHttpServletRequestBuilder request) throws Exception {
+        SecurityContextHolder.clearContext();
+        entityManagerFactory.getCache().evictAll();
+        return SqlStatementRecorder.record(() -> mvc.perform(request).andExpect(status().isOk()));
+    }
+
+    // 게시글 하나에 size 개의 댓글, 댓글마다 다른 유저 2명이 대댓글을 단다.
+    private Long seedBlogPost(Long owner, int size){
+        as(owner);
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용").build()).getId();
+        for (int i = 0; i < size; i++) {
+            as(newUser());
+            Long postCommentId = postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글" + i).build()).getPostCommentId();
+            as(newUser());
+            postSubCommentService.addPostSubComment(PostSubCommentDto.builder().postCommentId(postCommentId).content("대댓글" + i).build());
+        }
+        return blogPostId;
+    }
+
+    // 방명록에 서로 다른 유저가 size 개의 댓글을 단다.
+    private void seedGuestBook(Long owner, int size){
+        for (int i = 0; i < size; i++) {
+            as(newUser());
+            guestBookService.addGuestBookComment(owner, GuestBookCommentDto.builder().content("방명록" + i).build());
+        }
+    }
+
+    // owner 가 첫 댓글을 달고 서로 다른 유저 size 명이 대댓글을 단다. owner 의 첫 대댓글을 반환
+    private PostSubCommentDto seedThread(Long owner, int size){
+        Long blogPostId = seedBlogPost(owner, 0);
+        as(owner);
+        PostSubCommentDto first = postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("첫 댓글").build());
+        for (int i = 0; i < size; i++) {
+            as(newUser());
+            postSubCommentService.addPostSubComment(PostSubCommentDto.builder().postCommentId(first.getPostCommentId()).content("대댓글" + i).build());
+        }
+        return first;
+    }
+
+    // size 개의 댓글이 달린 방명록에 owner 가 댓글을 하나 달고 그 id 를 반환
+    private Long seedOwnGuestBookComment(Long owner, int size){
+        seedGuestBook(owner, size);
+        as(owner);
+        GuestBookDto guestBookDto = guestBookService.addGuestBookComment(owner, GuestBookCommentDto.builder().content("주인 댓글").build());
+        return guestBookDto.getGuestBookCommentDtos().stream()
+                .filter((gc) -> owner.equals(gc.getUserDto().getId()))
+                .findFirst().orElseThrow().getId();
+    }
+
+    private Long newUser(){
+        Long userId = USER_IDS.incrementAndGet();
+        userService.addUser(UserDto.builder().id(userId).email(userId + "@email.com").build());
+        return userId;
+    }
+
+    private void as(Long userId){
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+
+    private MockHttpServletRequestBuilder get(String path, Long caller){
+        return MockMvcRequestBuilders.get(path).cookie(auth(caller));
+    }
+
+    private Cookie auth(Long userId){
+        return new Cookie("Auth", jwtTokenService.createToken(String.valueOf(userId)));
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        MockHttpServletRequestBuilder prepare(Long owner, int size) throws Exception;
+    }
+}
@@ -0,0 +1,161 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * reactive 조회 API 가 기존 API 와 같은 응답을 주는지 비교한다.
+ * 기존 게시글 조회는 조회수를 올리고(DB 반영 전 누적분 포함) reactive 조회는 DB 값만 읽으므로 views 는 비교에서 빼고, 시간 필드도 뺀다.
+ * 기존 게시글 조회는 조회수를 올리고 modifiedTime 이 바뀌므로 views, 시간 필드는 비교에서 뺀다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReactiveReadControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    BlogPostService blogPostService;
+
+    @Autowired
+    GuestBookService guestBookService;
+
+    @Autowired
+    PostSubCommentService postSubCommentService;
+
+    @MockBean
+    SyncService syncService;
+
+    @AfterEach
+    void clearCaller(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 게시글조회_기존API와_같은응답() throws Exception {
+        //given
+        Long writer = addUser(45_001L);
+        Long commenter = addUser(45_002L);
+        as(writer);
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("제목").content("내용".repeat(1000)).tags("tag").build()).getId();
+        as(commenter);
+        PostSubCommentDto first = postSubCommentService.createPostSubComment(blogPostId, PostSubCommentDto.builder().content("댓글").build());
+        as(writer);
+        postSubCommentService.addPostSubComment(PostSubCommentDto.builder().postCommentId(first.getPostCommentId()).content("대댓글").build());
+
+        //when
+        JsonNode blocking = get("/blog/api/blogpost?blogpost_id=" + blogPostId);
+        JsonNode reactive = getAsync("/blog/api/reactive/blogpost?blogpost_id=" + blogPostId);
+
+        //then
+        assertThat(reactive).isEqualTo(blocking);
+        assertThat(reactive.at("/data/postCommentDtos/0/postSubCommentDtos")).hasSize(2);
+    }
+
+    @Test
+    void 게시글목록조회_기존API와_같은응답() throws Exception {
+        //given
+        Long writer = addUser(45_003L);
+        as(writer);
+        for (int i = 0; i < 3; i++) {
+            blogPostService.addBlogPost(BlogPostDto.builder().title("제목" + i).content("내용" + i).build());
+        }
+
+        //when
+        JsonNode blocking = get("/blog/api/blogpost/all?user_id=" + writer + "&size=2");
+        JsonNode reactive = getAsync("/blog/api/reactive/blogpost/all?user_id=" + writer + "&size=2");
+
+        //then
+        assertThat(reactive).isEqualTo(blocking);
+        assertThat(reactive.at("/data/pageNum").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void 방명록조회_기존API와_같은응답() throws Exception {
+        //given
+        Long owner = addUser(45_004L);
+        as(addUser(45_005L));
+        guestBookService.addGuestBookComment(owner, GuestBookCommentDto.builder().content("방명록").build());
+
+        //when
+        JsonNode blocking = get("/blog/api/guestbook?user_id=" + owner);
+        JsonNode reactive = getAsync("/blog/api/reactive/guestbook?user_id=" + owner);
+
+        //then
+        assertThat(reactive).isEqualTo(blocking);
+        assertThat(reactive.at("/data/guestBookCommentDtos")).hasSize(1);
+    }
+
+    private JsonNode get(String url) throws Exception {
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        return comparable(result);
+    }
+
+    private JsonNode getAsync(String url) throws Exception {
+        MvcResult started = mvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return comparable(result);
+    }
+
+    private JsonNode comparable(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        removeVolatileFields(body);
+        return body;
+    }
+
+    private static void removeVolatileFields(JsonNode node){
+        if (node instanceof ObjectNode) {
+            ((ObjectNode) node).remove("views");
+            ((ObjectNode) node).remove("createdTime");
+            ((ObjectNode) node).remove("modifiedTime");
+        }
+        node.forEach(ReactiveReadControllerTest::removeVolatileFields);
+    }
+
+    private Long addUser(Long userId){
+        userService.addUser(UserDto.builder().id(userId).email(userId + "@email.com").build());
+        return userId;
+    }
+
+    private void as(Long userId){
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(userId, Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.helloworldweb.helloworld_guestbook.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * hibernate.session_factory.statement_inspector 로 등록해 Hibernate 가 준비하는 SQL 을 기록한다.
+ * MockMvc 요청은 테스트 스레드에서 처리되므로 ThreadLocal 로 기록해 스케줄러(outbox relay, purge worker 등)의 SQL 은 섞이지 않는다.
+ * id 할당(sequence) 조회는 pooled-lo 할당 주기에 따라 생기거나 생기지 않으므로 세지 않는다.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recording = RECORDING.get();
+        if (recording != null && !isSequenceCall(sql)) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> record(Callable<?> action) throws Exception {
+        List<String> recording = new ArrayList<>();
+        RECORDING.set(recording);
+        try {
+            action.call();
+        } finally {
+            RECORDING.remove();
+        }
+        return Collections.unmodifiableList(recording);
+    }
+
+    public static void assertWithinBudget(String endpoint, List<String> statements, int budget) {
+        if (statements.size() > budget) {
+            fail(describe(endpoint + " SQL " + statements.size() + "건, 예산 " + budget + "건", statements));
+        }
+    }
+
+    // 데이터 양에 따라 쿼리 수가 달라지면 N+1
+    public static void assertSameCount(String endpoint, List<String> small, List<String> large) {
+        if (small.size() != large.size()) {
+            fail(describe(endpoint + " 데이터 양에 따라 SQL 수가 달라집니다. (" + small.size() + "건 -> " + large.size() + "건)", large));
+        }
+    }
+
+    private static String describe(String title, List<String> statements) {
+        Map<String, Integer> types = new TreeMap<>();
+        statements.forEach((sql) -> types.merge(type(sql), 1, Integer::sum));
+        StringBuilder message = new StringBuilder(title).append(' ').append(types).append('\n');
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(i + 1).append(". ").append(statements.get(i)).append('\n');
+        }
+        return message.toString();
+    }
+
+    private static String type(String sql) {
+        String trimmed = sql.trim();
+        int end = trimmed.indexOf(' ');
+        return (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSequenceCall(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains("next value for") || lower.contains("nextval(");
+    }
+}
@@ -0,0 +1,49 @@
+package com.helloworldweb.helloworld_guestbook.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedContentConverterTest {
+
+    CompressedContentConverter converter = new CompressedContentConverter();
+
+    @Test
+    void 긴글_압축저장_복원(){
+        //given
+        String content = "```java\nSystem.out.println(\"안녕하세요\");\n```\n".repeat(100);
+
+        //when
+        String stored = converter.convertToDatabaseColumn(content);
+
+        //then
+        assertThat(CompressedContentConverter.isEncoded(stored)).isTrue();
+        assertThat(stored.length()).isLessThan(content.length());
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(content);
+    }
+
+    @Test
+    void 짧은글_원문저장(){
+        //given
+        String content = "짧은 글";
+
+        //when
+        String stored = converter.convertToDatabaseColumn(content);
+
+        //then
+        assertThat(stored).isEqualTo(content);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(content);
+    }
+
+    @Test
+    void 헤더문자로시작하는원문_그대로복원(){
+        //given
+        String content = CompressedContentConverter.MARKER + "D not compressed";
+
+        //when
+        String stored = converter.convertToDatabaseColumn(content);
+
+        //then
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(content);
+    }
+}
@@ -0,0 +1,74 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.http.Cookie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+
+    JwtTokenService jwtTokenService;
+    JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    void 필터생성(){
+        jwtTokenService = new JwtTokenService(SECRET, 100);
+        jwtTokenService.init();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenService);
+    }
+
+    @AfterEach
+    void ContextHolder정리(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 유저토큰_인증() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("Auth", jwtTokenService.createToken(String.valueOf(1L))));
+
+        //when
+        doFilter(request);
+
+        //then
+        assertThat(((CallerPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void 서비스토큰_유저인증거부() throws Exception {
+        //given
+        //같은 키로 서명된 서비스 토큰(sub=0, aud=user_server)을 쿠키, Bearer 헤더로 보낸다.
+        long now = System.currentTimeMillis();
+        String serviceToken = jwtTokenService.createServiceToken("0", "user_server", now, now + 60_000L);
+        MockHttpServletRequest cookieRequest = new MockHttpServletRequest();
+        cookieRequest.setCookies(new Cookie("Auth", serviceToken));
+        MockHttpServletRequest bearerRequest = new MockHttpServletRequest();
+        bearerRequest.addHeader("Authorization", "Bearer " + serviceToken);
+
+        //when
+        doFilter(cookieRequest);
+
+        //then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        //when
+        doFilter(bearerRequest);
+
+        //then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private void doFilter(MockHttpServletRequest request) throws Exception {
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,77 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtTokenServiceTest {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+
+    JwtTokenService jwtTokenService;
+
+    @BeforeEach
+    void 토큰서비스생성(){
+        jwtTokenService = new JwtTokenService(SECRET, 100);
+        jwtTokenService.init();
+    }
+
+    @Test
+    void 인증_같은토큰_반복요청(){
+        //given
+        String token = jwtTokenService.createToken(String.valueOf(1L));
+
+        //when
+        Authentication first = jwtTokenService.authenticate(token);
+        Authentication second = jwtTokenService.authenticate(token);
+
+        //then
+        assertThat(((CallerPrincipal) first.getPrincipal()).getUserId()).isEqualTo(1L);
+        //두번째 요청은 검증된 토큰 캐시에서 같은 인증 객체를 꺼낸다.
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void 인증_위조된토큰(){
+        //given
+        String token = jwtTokenService.createToken(String.valueOf(1L));
+        String[] parts = token.split("\\.");
+        String forged = Jwts.builder()
+                .setSubject("2")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode("b3RoZXItc2VjcmV0LWtleS1mb3ItZm9yZ2luZy10b2tlbnMtMjU2Yml0cw==")), SignatureAlgorithm.HS256)
+                .compact();
+
+        //when
+        jwtTokenService.authenticate(token);
+
+        //then
+        //검증된 토큰의 서명만 바꾼 토큰, 다른 키로 서명한 토큰 모두 거부
+        assertThat(jwtTokenService.authenticate(parts[0] + "." + parts[1] + ".invalidsignature")).isNull();
+        assertThat(jwtTokenService.authenticate(forged)).isNull();
+    }
+
+    @Test
+    void 인증_만료된토큰(){
+        //given
+        long now = System.currentTimeMillis();
+        String expired = Jwts.builder()
+                .setSubject("1")
+                .setIssuedAt(new Date(now - 120_000L))
+                .setExpiration(new Date(now - 60_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        //when
+        //then
+        assertThat(jwtTokenService.authenticate(expired)).isNull();
+    }
+}
@@ -0,0 +1,87 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ServiceCredentialProviderTest {
+
+    private static final String SECRET = "aGVsbG93b3JsZC1ndWVzdGJvb2stdGVzdC1zZWNyZXQta2V5LTI1NmJpdHM=";
+
+    ServiceCredentialProvider serviceCredentialProvider;
+
+    @AfterEach
+    void 종료(){
+        serviceCredentialProvider.shutdown();
+    }
+
+    private JwtTokenService jwtTokenService(){
+        JwtTokenService jwtTokenService = new JwtTokenService(SECRET, 100);
+        jwtTokenService.init();
+        return spy(jwtTokenService);
+    }
+
+    @Test
+    void 토큰재사용_동시요청시_한번만서명() throws Exception {
+        //given
+        JwtTokenService jwtTokenService = jwtTokenService();
+        serviceCredentialProvider = new ServiceCredentialProvider(jwtTokenService, 0L, 3_600_000L, 300_000L, 30_000L);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return serviceCredentialProvider.getToken("user_server");
+            }));
+        }
+        start.countDown();
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        for (Future<String> future : futures) {
+            tokens.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        //then
+        assertThat(tokens).hasSize(1);
+        verify(jwtTokenService, times(1)).createServiceToken(eq("0"), eq("user_server"), anyLong(), anyLong());
+        //유저 토큰과 같이 sub 를 Long 으로 파싱할 수 있다.
+        assertThat(Long.valueOf(jwtTokenService.getUserId(tokens.iterator().next()))).isEqualTo(0L);
+    }
+
+    @Test
+    void 만료전_백그라운드갱신() throws Exception {
+        //given
+        //유효기간 1초, 만료 0.5초 전부터 갱신, 50ms 마다 확인
+        JwtTokenService jwtTokenService = jwtTokenService();
+        List<String> signingThreads = new CopyOnWriteArrayList<>();
+        doAnswer((invocation) -> {
+            signingThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(jwtTokenService).createServiceToken(anyString(), anyString(), anyLong(), anyLong());
+        serviceCredentialProvider = new ServiceCredentialProvider(jwtTokenService, 0L, 1_000L, 500L, 50L);
+        serviceCredentialProvider.getToken("user_server");
+
+        //when
+        Thread.sleep(1_500L);
+        serviceCredentialProvider.getToken("user_server");
+
+        //then
+        //호출 스레드에서는 최초 한번만 서명하고, 이후는 백그라운드 스레드가 갱신한다.
+        assertThat(signingThreads.size()).isGreaterThanOrEqualTo(2);
+        assertThat(signingThreads.get(0)).isEqualTo(Thread.currentThread().getName());
+        assertThat(signingThreads.subList(1, signingThreads.size())).allMatch((name) -> name.startsWith("service-credential-"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.helloworldweb.helloworld_guestbook.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCacheTest {
+
+    @Test
+    void 가득차면_가장오래사용되지않은항목만제거(){
+        //given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(3);
+        verifiedTokenCache.put("token1", authentication(1L));
+        verifiedTokenCache.put("token2", authentication(2L));
+        verifiedTokenCache.put("token3", authentication(3L));
+        //token1 을 다시 사용해 가장 오래 사용되지 않은 항목은 token2
+        verifiedTokenCache.get("token1", 0L);
+
+        //when
+        verifiedTokenCache.put("token4", authentication(4L));
+
+        //then
+        assertThat(verifiedTokenCache.size()).isEqualTo(3);
+        assertThat(verifiedTokenCache.get("token2", 0L)).isNull();
+        assertThat(verifiedTokenCache.get("token1", 0L)).isNotNull();
+        assertThat(verifiedTokenCache.get("token3", 0L)).isNotNull();
+        assertThat(verifiedTokenCache.get("token4", 0L)).isNotNull();
+    }
+
+    @Test
+    void 만료된항목_조회시제거(){
+        //given
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(3);
+        verifiedTokenCache.put("token1", authentication(1L));
+
+        //when
+        //then
+        assertThat(verifiedTokenCache.get("token1", Long.MAX_VALUE)).isNull();
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    private static CallerAuthentication authentication(Long userId){
+        return new CallerAuthentication(new CallerPrincipal(userId, 1_000L));
+    }
+}
@@ -0,0 +1,134 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
+import com.helloworldweb.helloworld_guestbook.repository.OutboxEventRepository;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        // 큰 이벤트가 producer 에서 RecordTooLargeException 으로 거절되도록 한다.
+        "spring.kafka.producer.properties.max.request.size=4096",
+        // 스케줄러가 아니라 테스트가 직접 relay 를 호출한다.
+        "outbox.relay.initial-delay-ms=3600000",
+        "outbox.relay.topic=" + OutboxRelayTest.TOPIC,
+        "outbox.relay.max-attempts=2"
+})
+@EmbeddedKafka(topics = OutboxRelayTest.TOPIC, partitions = 1)
+public class OutboxRelayTest {
+
+    static final String TOPIC = "blog_events_relay_test";
+
+    @Autowired
+    OutboxRelay outboxRelay;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    ConsumerFactory<String, String> consumerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @MockBean
+    SyncService syncService;
+
+    @BeforeEach
+    void clearOutbox(){
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void 발행확인된_이벤트는_삭제() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (long aggregateId = 1; aggregateId <= 3; aggregateId++) {
+            ids.add(save(aggregateId, "{\"aggregateId\":" + aggregateId + "}").getId());
+        }
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        assertThat(outboxEventRepository.count()).isZero();
+        List<ConsumerRecord<String, String>> records = poll("outbox-relay-test-published",
+                (polled) -> eventIds(polled).containsAll(ids));
+        assertThat(eventIds(records)).containsAll(ids);
+        assertThat(records).filteredOn((record) -> ids.contains(Long.valueOf(header(record, OutboxRelay.EVENT_ID_HEADER))))
+                .allMatch((record) -> header(record, OutboxRelay.EVENT_TYPE_HEADER).equals(OutboxEvent.EventType.BLOG_POST_CREATED.name()));
+    }
+
+    @Test
+    void 발행할수없는_이벤트는_남기고_뒤이벤트는_발행_max_attempts면_더발행하지않음() {
+        //given
+        OutboxEvent tooLarge = save(10L, "x".repeat(8192));
+        OutboxEvent next = save(11L, "{\"aggregateId\":11}");
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        // 실패한 이벤트는 시도 횟수와 함께 남고, 뒤 이벤트는 막히지 않는다.
+        assertThat(outboxEventRepository.findById(tooLarge.getId())).hasValueSatisfying((event) -> assertThat(event.getAttempts()).isEqualTo(1));
+        assertThat(outboxEventRepository.findById(next.getId())).isEmpty();
+        assertThat(eventIds(poll("outbox-relay-test-next", (polled) -> eventIds(polled).contains(next.getId())))).contains(next.getId());
+
+        //when
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        //then
+        // max-attempts 에 닿으면 행은 남겨두고 더 발행하지 않는다.
+        assertThat(outboxEventRepository.findById(tooLarge.getId())).hasValueSatisfying((event) -> assertThat(event.getAttempts()).isEqualTo(2));
+        assertThat(meterRegistry.get("outbox.parked").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.depth").gauge().value()).isZero();
+    }
+
+    private OutboxEvent save(Long aggregateId, String payload){
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(OutboxEvent.EventType.BLOG_POST_CREATED)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .build());
+    }
+
+    // 다른 테스트가 발행한 레코드도 같이 읽으므로 done 이 만족될 때까지 읽는다.
+    private List<ConsumerRecord<String, String>> poll(String groupId, Predicate<List<ConsumerRecord<String, String>>> done){
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer = consumerFactory.createConsumer(groupId, "verifier")) {
+            consumer.subscribe(List.of(TOPIC));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!done.test(records) && System.currentTimeMillis() < deadline) {
+                consumer.poll(Duration.ofMillis(500)).forEach(records::add);
+            }
+        }
+        return records;
+    }
+
+    private static List<Long> eventIds(List<ConsumerRecord<String, String>> records){
+        return records.stream().map((record) -> Long.valueOf(header(record, OutboxRelay.EVENT_ID_HEADER))).collect(Collectors.toList());
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name){
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,123 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import com.helloworldweb.helloworld_guestbook.service.UserService;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=guestbook-dispatcher-test",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.enable-auto-commit=false",
+        "spring.kafka.listener.ack-mode=manual",
+        "kafka.user-server.lanes=8"
+})
+@EmbeddedKafka(topics = "user_server", partitions = 3)
+public class UserServerDispatcherTest {
+
+    private static final int USERS = 20;
+    private static final int VERSIONS_PER_USER = 10;
+    private static final long DB_WRITE_MILLIS = 10L;
+
+    @Autowired
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    ConsumerFactory<?, ?> consumerFactory;
+
+    @MockBean
+    UserService userService;
+
+    @MockBean
+    SyncService syncService;
+
+    // key 없이 여러 파티션에 흩어진 버전은 도착 순서가 버전 순서가 아니므로, stale skip 없이 lane 순서만 본다.
+    @MockBean
+    UserVersionRegistry userVersionRegistry;
+
+    @Test
+    void 유저별순서보장_병렬처리_오프셋커밋() throws Exception {
+        //given
+        Map<Long, List<Long>> appliedVersions = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(USERS * VERSIONS_PER_USER);
+        doAnswer((invocation) -> {
+            UserDto userDto = invocation.getArgument(0);
+            Long version = invocation.getArgument(1);
+            Thread.sleep(DB_WRITE_MILLIS); // 느린 DB write
+            appliedVersions.computeIfAbsent(userDto.getId(), (id) -> Collections.synchronizedList(new ArrayList<>())).add(version);
+            latch.countDown();
+            return userDto;
+        }).when(userService).upsertUser(any(UserDto.class), anyLong());
+
+        //when
+        long start = System.nanoTime();
+        for (long version = 1; version <= VERSIONS_PER_USER; version++) {
+            for (long userId = 1; userId <= USERS; userId++) {
+                String json = "{\"operation\":\"update\",\"id\":" + userId + ",\"version\":" + version + ",\"email\":\"" + userId + "@email.com\"}";
+                // key 를 주지 않아 같은 유저의 레코드가 여러 파티션에 흩어지도록 한다.
+                kafkaTemplate.send("user_server", (int) (version % 3), null, json);
+            }
+        }
+        kafkaTemplate.flush();
+        boolean completed = latch.await(30, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //then
+        assertThat(completed).isTrue();
+        // 파티션 내 순서 + 같은 유저는 같은 lane -> 파티션별로는 버전 순서가 지켜져야 한다.
+        for (long userId = 1; userId <= USERS; userId++) {
+            List<Long> versions = appliedVersions.get(userId);
+            for (int partition = 0; partition < 3; partition++) {
+                final int p = partition;
+                List<Long> inPartition = new ArrayList<>();
+                versions.stream().filter((v) -> v % 3 == p).forEach(inPartition::add);
+                assertThat(inPartition).isSorted();
+            }
+        }
+        // 직렬 처리시 USERS * VERSIONS_PER_USER * DB_WRITE_MILLIS(2초) 이상 걸린다.
+        assertThat(elapsedMillis).isLessThan(USERS * VERSIONS_PER_USER * DB_WRITE_MILLIS);
+
+        // 모든 레코드가 완료되었으므로 파티션별 마지막 offset 까지 커밋되어야 한다.
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (int partition = 0; partition < 3; partition++) {
+            partitions.add(new TopicPartition("user_server", partition));
+        }
+        long committed = 0;
+        try (org.apache.kafka.clients.consumer.Consumer<?, ?> consumer = consumerFactory.createConsumer("guestbook-dispatcher-test", "verifier")) {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (System.currentTimeMillis() < deadline) {
+                committed = consumer.committed(partitions).values().stream()
+                        .mapToLong((o) -> o == null ? 0L : o.offset())
+                        .sum();
+                if (committed == USERS * VERSIONS_PER_USER) {
+                    break;
+                }
+                Thread.sleep(200);
+            }
+        }
+        assertThat(committed).isEqualTo(USERS * VERSIONS_PER_USER);
+    }
+}
@@ -0,0 +1,56 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class UserServerMessageTest {
+
+    @Test
+    void 회원가입메시지_파싱() throws IOException {
+        //given
+        String json = "{\"operation\":\"register\",\"id\":1,\"email\":\"email@email.com\",\"nickName\":\"babo\",\"fcm\":null,\"unknown\":{\"a\":[1,2]}}";
+
+        //when
+        UserServerMessage message = UserServerMessage.decode(json);
+        UserDto userDto = message.toUserDto();
+
+        //then
+        assertThat(message.getOperation()).isEqualTo("register");
+        assertThat(userDto.getId()).isEqualTo(1L);
+        assertThat(userDto.getEmail()).isEqualTo("email@email.com");
+        assertThat(userDto.getNickName()).isEqualTo("babo");
+        assertThat(userDto.getFcm()).isNull();
+        assertThat(userDto.getRepoUrl()).isNull();
+    }
+
+    @Test
+    void 회원삭제메시지_파싱() throws IOException {
+        //given
+        String json = "{\"operation\":\"delete\",\"Id\":\"7\"}";
+
+        //when
+        UserServerMessage message = UserServerMessage.decode(json);
+
+        //then
+        assertThat(message.getOperation()).isEqualTo("delete");
+        assertThat(message.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void 잘못된메시지_SerializationException() {
+        //given
+        UserServerMessageDeserializer deserializer = new UserServerMessageDeserializer();
+
+        //when
+        //then
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("user_server", "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("user_server", "not json".getBytes(StandardCharsets.UTF_8)));
+    }
+}
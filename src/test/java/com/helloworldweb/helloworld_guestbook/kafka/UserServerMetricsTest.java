@@ -0,0 +1,100 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.config.SecurityConfig;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.JwtTokenService;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import com.helloworldweb.helloworld_guestbook.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import javax.servlet.http.Cookie;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=guestbook-metrics-test",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.enable-auto-commit=false",
+        "spring.kafka.listener.ack-mode=manual"
+})
+@AutoConfigureMockMvc
+@EmbeddedKafka(topics = "user_server", partitions = 2)
+public class UserServerMetricsTest {
+
+    @Autowired
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    UserServerDiagnostics userServerDiagnostics;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JwtTokenService jwtTokenService;
+
+    @MockBean
+    UserService userService;
+
+    @MockBean
+    SyncService syncService;
+
+    @Test
+    void 작업별_지표_파티션lag() throws Exception {
+        //given
+        when(userService.upsertUser(any(UserDto.class), any())).then((invocation) -> invocation.getArgument(0));
+
+        //when
+        for (long userId = 1; userId <= 10; userId++) {
+            kafkaTemplate.send("user_server", "{\"operation\":\"register\",\"id\":" + userId + "}");
+        }
+        kafkaTemplate.send("user_server", "{\"operation\":\"delete\",\"Id\":1}");
+        kafkaTemplate.flush();
+
+        //then
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+        long totalLag = -1;
+        while (System.currentTimeMillis() < deadline) {
+            totalLag = userServerDiagnostics.diagnose().getPartitions().stream()
+                    .mapToLong((p) -> p.getLag())
+                    .sum();
+            if (totalLag == 0 && meterRegistry.get("user_server.messages").tag("operation", "delete").tag("outcome", "applied").counter().count() == 1) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        assertThat(totalLag).isEqualTo(0L);
+        assertThat(meterRegistry.get("user_server.messages").tag("operation", "register").tag("outcome", "applied").counter().count()).isEqualTo(10.0);
+        assertThat(meterRegistry.get("user_server.apply").tag("operation", "register").timer().count()).isEqualTo(10L);
+        assertThat(meterRegistry.get("user_server.end_to_end.lag").timer().count()).isEqualTo(11L);
+
+        String adminToken = jwtTokenService.createToken(String.valueOf(1L), List.of(SecurityConfig.ADMIN_ROLE));
+        mvc.perform(MockMvcRequestBuilders.get("/blog/api/diagnostics/kafka").cookie(new Cookie("Auth", adminToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.partitions", hasSize(2)))
+                .andExpect(jsonPath("$.data.operations[0].operation").value("register"))
+                .andExpect(jsonPath("$.data.operations[0].applied").value(10))
+                .andDo(print());
+    }
+}
@@ -0,0 +1,141 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.service.SyncService;
+import com.helloworldweb.helloworld_guestbook.service.UserService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=guestbook-retry-test",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.enable-auto-commit=false",
+        "spring.kafka.listener.ack-mode=manual",
+        "kafka.user-server.retry.initial-backoff-ms=200",
+        "kafka.user-server.retry.max-attempts=3"
+})
+@EmbeddedKafka(topics = {"user_server", UserServerFailureHandler.RETRY_TOPIC_PREFIX + "0", UserServerFailureHandler.RETRY_TOPIC_PREFIX + "1",
+        UserServerFailureHandler.DLT_TOPIC}, partitions = 2)
+public class UserServerRetryTest {
+
+    private static final int GOOD_MESSAGES = 100;
+    // 처음 한번만 DB 오류가 나는 유저
+    private static final Set<Long> FLAKY_USERS = Set.of(1001L, 1002L);
+    // 파싱할 수 없는 메시지
+    private static final String POISON_PILL = "not json";
+
+    @Autowired
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    ConsumerFactory<String, String> consumerFactory;
+
+    @MockBean
+    UserService userService;
+
+    @MockBean
+    SyncService syncService;
+
+    @Test
+    void 실패메시지_retry_DLT_정상메시지는_지연없음() throws Exception {
+        //given
+        Map<Long, AtomicInteger> calls = new ConcurrentHashMap<>();
+        List<Long> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch goodLatch = new CountDownLatch(GOOD_MESSAGES);
+        CountDownLatch flakyLatch = new CountDownLatch(FLAKY_USERS.size());
+        doAnswer((invocation) -> {
+            UserDto userDto = invocation.getArgument(0);
+            int call = calls.computeIfAbsent(userDto.getId(), (id) -> new AtomicInteger()).incrementAndGet();
+            if (FLAKY_USERS.contains(userDto.getId())) {
+                if (call == 1) {
+                    throw new DataAccessResourceFailureException("일시적인 DB 오류");
+                }
+                flakyLatch.countDown();
+            } else {
+                goodLatch.countDown();
+            }
+            applied.add(userDto.getId());
+            return userDto;
+        }).when(userService).upsertUser(any(UserDto.class), any());
+
+        //when
+        kafkaTemplate.send("user_server", "{\"operation\":\"unknown\",\"id\":2001}");
+        kafkaTemplate.send("user_server", POISON_PILL);
+        for (Long userId : FLAKY_USERS) {
+            kafkaTemplate.send("user_server", "{\"operation\":\"register\",\"id\":" + userId + "}");
+        }
+        for (long userId = 1; userId <= GOOD_MESSAGES; userId++) {
+            kafkaTemplate.send("user_server", "{\"operation\":\"register\",\"id\":" + userId + "}");
+        }
+        kafkaTemplate.flush();
+
+        //then
+        // 정상 메시지는 실패 메시지의 backoff 를 기다리지 않는다.
+        assertThat(goodLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // 일시적인 오류는 retry 토픽을 거쳐 반영된다.
+        assertThat(flakyLatch.await(20, TimeUnit.SECONDS)).isTrue();
+        assertThat(applied).containsAll(FLAKY_USERS);
+
+        // 존재하지 않는 작업, 파싱할 수 없는 메시지는 재시도 없이 실패 원인과 함께 DLT 로 간다.
+        List<ConsumerRecord<String, String>> deadLetters = poll("guestbook-retry-test-verifier", List.of(UserServerFailureHandler.DLT_TOPIC), 2);
+        assertThat(deadLetters).hasSize(2);
+        ConsumerRecord<String, String> unknown = deadLetters.stream().filter((record) -> record.value().contains("unknown")).findFirst().orElseThrow();
+        assertThat(header(unknown, KafkaHeaders.DLT_EXCEPTION_FQCN)).isEqualTo(IllegalArgumentException.class.getName());
+
+        // poison pill 은 listener 에 닿기 전에 실패하므로 컨테이너 ErrorHandler 가 원본 그대로 DLT 로 보낸다.
+        ConsumerRecord<String, String> poisonPill = deadLetters.stream().filter((record) -> record.value().equals(POISON_PILL)).findFirst().orElseThrow();
+        assertThat(Arrays.asList(header(poisonPill, KafkaHeaders.DLT_EXCEPTION_FQCN), header(poisonPill, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN)))
+                .contains(DeserializationException.class.getName());
+        assertThat(poisonPill.headers().lastHeader(UserServerFailureHandler.RETRY_ATTEMPT_HEADER)).isNull();
+
+        // retry 토픽에는 일시적인 오류가 난 유저만 간다.
+        List<ConsumerRecord<String, String>> retries = poll("guestbook-retry-test-retry-verifier", List.of(UserServerFailureHandler.RETRY_TOPIC_PREFIX + "0"), FLAKY_USERS.size());
+        assertThat(retries).extracting(ConsumerRecord::value).noneMatch(POISON_PILL::equals);
+    }
+
+    private List<ConsumerRecord<String, String>> poll(String groupId, List<String> topics, int expected){
+        List<ConsumerRecord<String, String>> polled = new ArrayList<>();
+        try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer = consumerFactory.createConsumer(groupId, "verifier")) {
+            consumer.subscribe(topics);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (polled.size() < expected && System.currentTimeMillis() < deadline) {
+                consumer.poll(Duration.ofMillis(500)).forEach(polled::add);
+            }
+        }
+        return polled;
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name){
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
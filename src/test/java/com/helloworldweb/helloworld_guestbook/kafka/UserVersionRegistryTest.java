@@ -0,0 +1,54 @@
+package com.helloworldweb.helloworld_guestbook.kafka;
+
+import com.helloworldweb.helloworld_guestbook.repository.DeletedUserRepository;
+import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserVersionRegistryTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    DeletedUserRepository deletedUserRepository;
+
+    @InjectMocks
+    UserVersionRegistry userVersionRegistry;
+
+    @Test
+    void 삭제된유저_삭제이전버전_replay_stale(){
+        //given
+        //재시작 이후라 메모리에는 없고, 유저 행도 삭제되어 tombstone 만 남아있다.
+        when(userRepository.findEventVersionById(1L)).thenReturn(Optional.empty());
+        when(deletedUserRepository.findEventVersionById(1L)).thenReturn(Optional.of(5L));
+
+        //when
+        boolean replayedRegister = userVersionRegistry.isStale(1L, 3L);
+        boolean newerRegister = userVersionRegistry.isStale(1L, 6L);
+
+        //then
+        assertThat(replayedRegister).isTrue();
+        assertThat(newerRegister).isFalse();
+    }
+
+    @Test
+    void 처음보는유저_stale아님(){
+        //given
+        when(userRepository.findEventVersionById(2L)).thenReturn(Optional.empty());
+        when(deletedUserRepository.findEventVersionById(2L)).thenReturn(Optional.empty());
+
+        //when
+        //then
+        assertThat(userVersionRegistry.isStale(2L, 1L)).isFalse();
+    }
+}
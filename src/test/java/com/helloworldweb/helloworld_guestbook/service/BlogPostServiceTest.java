@@ -1,8 +1,11 @@
 package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.OutboxEvent;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +17,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -37,6 +39,18 @@ public class BlogPostServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    EntityCacheService entityCacheService;
+
+    @Mock
+    RevisionService revisionService;
+
+    @Mock
+    BlogPostViewCounter blogPostViewCounter;
+
     @InjectMocks
     BlogPostServiceImpl blogPostService;
 
@@ -49,7 +63,7 @@ public class BlogPostServiceTest {
                 .profileUrl("profileimage")
                 .build();
 
-        Authentication auth = new UsernamePasswordAuthenticationToken(user,"",user.getAuthorities());
+        Authentication auth = new CallerAuthentication(new CallerPrincipal(user.getId(), Long.MAX_VALUE));
         SecurityContextHolder.getContext().setAuthentication(auth);
     }
 
@@ -98,6 +112,11 @@ public class BlogPostServiceTest {
          * 연관 확인
          */
         assertThat(retBlogPostDto.getUserDto().getId()).isEqualTo(user.getId());
+
+        /**
+         * 같은 트랜잭션에서 outbox 이벤트 추가 확인
+         */
+        verify(outboxService).append(OutboxEvent.EventType.BLOG_POST_CREATED, null, null, user.getId());
     }
 
 
@@ -145,7 +164,48 @@ public class BlogPostServiceTest {
         assertThat(retBlogPostDto.getTitle()).isEqualTo(blogPostDto.getTitle());
         assertThat(retBlogPostDto.getTags()).isEqualTo(blogPostDto.getTags());
         assertThat(retBlogPostDto.getSearchCount()).isEqualTo(blogPostDto.getSearchCount());
-        assertThat(retBlogPostDto.getViews()).isEqualTo(blogPostDto.getViews());
+
+        /**
+         * 조회수는 수정 요청으로 바꿀 수 없음.
+         */
+        assertThat(retBlogPostDto.getViews()).isEqualTo(1L);
+    }
+
+    @Test
+    void 게시물조회_조회수_엔티티를바꾸지않고_누적분포함(){
+
+        //given
+        BlogPost blogPost = BlogPost.builder()
+                .id(1L)
+                .title("title")
+                .content("content")
+                .tags("tags")
+                .searchCount(1L)
+                .views(5L).build();
+
+        User user = User. builder()
+                .id(2L)
+                .email("email@email.com")
+                .nickName("nickname")
+                .profileUrl("profileimage")
+                .build();
+
+        blogPost.updateUser(user);
+
+        when(blogPostRepository.findBlogPostWithUserById(1L)).thenReturn(Optional.of(blogPost));
+        when(blogPostRepository.findViewsById(1L)).thenReturn(Optional.of(7L));
+        when(blogPostViewCounter.increment(1L)).thenReturn(2L);
+
+        //when
+        BlogPostDto retBlogPostDto = blogPostService.getBlogPost(1L);
+
+        //then
+        /**
+         * 응답은 DB 조회수 + 아직 반영 안 된 누적분, 캐시되는 엔티티의 조회수는 그대로.
+         */
+        assertThat(retBlogPostDto.getViews()).isEqualTo(9L);
+        assertThat(blogPost.getViews()).isEqualTo(5L);
+        verify(blogPostRepository, never()).save(any(BlogPost.class));
     }
 
     @Test
@@ -240,6 +300,37 @@ public class BlogPostServiceTest {
 
     }
 
+    @Test
+    void 게시물삭제_성공_삭제표시(){
+        //given
+        User user = User. builder()
+                .id(2L)
+                .email("email@email.com")
+                .nickName("nickname")
+                .profileUrl("profileimage")
+                .build();
+
+        BlogPost blogPost = BlogPost.builder()
+                .id(1L)
+                .title("title")
+                .content("content")
+                .tags("tags")
+                .views(2L)
+                .searchCount(2L).build();
+
+        blogPost.updateUser(user);
+        when(blogPostRepository.findBlogPostWithUserById(any(Long.class))).thenReturn(Optional.of(blogPost));
+
+        //when
+        blogPostService.deleteBlogPost(blogPost.getId());
+
+        //then
+        //자식 행은 요청 트랜잭션에서 지우지 않고 삭제 표시만 한다.
+        assertThat(blogPost.isDeleted()).isTrue();
+        verify(blogPostRepository, never()).delete(any(BlogPost.class));
+        verify(outboxService, times(1)).append(OutboxEvent.EventType.BLOG_POST_DELETED, 1L, null, 2L);
+    }
+
     @Test
     void 게시물전체조회_성공(){
 
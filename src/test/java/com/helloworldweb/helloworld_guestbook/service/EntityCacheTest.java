@@ -0,0 +1,148 @@
+package com.helloworldweb.helloworld_guestbook.service;
+
+import com.helloworldweb.helloworld_guestbook.domain.BlogPost;
+import com.helloworldweb.helloworld_guestbook.domain.CompressedContentConverter;
+import com.helloworldweb.helloworld_guestbook.domain.User;
+import com.helloworldweb.helloworld_guestbook.dto.BlogPostDto;
+import com.helloworldweb.helloworld_guestbook.dto.CacheDiagnosticsDto;
+import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
+import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//트랜잭션마다 새 영속성 컨텍스트에서 조회해야 2차 캐시를 거치므로 테스트 자체는 @Transactional 을 붙이지 않는다.
+@SpringBootTest
+public class EntityCacheTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    BlogPostService blogPostService;
+
+    @Autowired
+    EntityCacheService entityCacheService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    BlogPostRepository blogPostRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BlogPostContentRecompressor blogPostContentRecompressor;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    SyncService syncService;
+
+    @AfterEach
+    void ContextHolder초기화(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 유저_upsert후_캐시된값갱신(){
+        //given
+        userService.addUser(UserDto.builder().id(7001L).email("cache@email.com").nickName("before").build());
+        userRepository.findById(7001L);
+
+        //when
+        userService.upsertUser(UserDto.builder().id(7001L).email("cache@email.com").nickName("after").build(), 2L);
+
+        //then
+        User user = userRepository.findById(7001L).get();
+        assertThat(user.getNickName()).isEqualTo("after");
+    }
+
+    @Test
+    void 게시글_캐시hit_수정후_stale없음(){
+        //given
+        userService.addUser(UserDto.builder().id(7002L).email("cache2@email.com").build());
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(7002L, Long.MAX_VALUE)));
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("title").content("content").tags("tags").build()).getId();
+        blogPostRepository.findById(blogPostId);
+        long hitsBefore = regionHits(BlogPost.class.getName());
+
+        //when
+        BlogPost cached = blogPostRepository.findById(blogPostId).get();
+        blogPostService.updateBlogPost(BlogPostDto.builder().id(blogPostId).title("updated").content("content").tags("tags").views(0L).searchCount(0L).build());
+
+        //then
+        assertThat(cached.getTitle()).isEqualTo("title");
+        assertThat(regionHits(BlogPost.class.getName())).isGreaterThan(hitsBefore);
+        //READ_WRITE 전략이므로 Hibernate 를 거친 수정은 바로 보인다.
+        assertThat(blogPostRepository.findById(blogPostId).get().getTitle()).isEqualTo("updated");
+    }
+
+    @Test
+    void 게시글_캐시우회수정_eviction전까지stale(){
+        //given
+        userService.addUser(UserDto.builder().id(7003L).email("cache3@email.com").build());
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(7003L, Long.MAX_VALUE)));
+        Long blogPostId = blogPostService.addBlogPost(BlogPostDto.builder().title("title").content("content").tags("tags").build()).getId();
+        blogPostRepository.findById(blogPostId);
+
+        //when
+        //Hibernate 를 거치지 않는 변경(native SQL)은 캐시에 반영되지 않는다.
+        jdbcTemplate.update("update blog_post set title = ? where id = ?", "native", blogPostId);
+        String staleTitle = blogPostRepository.findById(blogPostId).get().getTitle();
+        entityCacheService.evictBlogPost(blogPostId);
+
+        //then
+        assertThat(staleTitle).isEqualTo("title");
+        assertThat(blogPostRepository.findById(blogPostId).get().getTitle()).isEqualTo("native");
+    }
+
+    @Test
+    void 게시글재압축_다시쓴게시글만_캐시에서비움(){
+        //given
+        userService.addUser(UserDto.builder().id(7004L).email("cache4@email.com").build());
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(7004L, Long.MAX_VALUE)));
+        Long cachedId = blogPostService.addBlogPost(BlogPostDto.builder().title("cached").content("content").tags("tags").build()).getId();
+        String longContent = "압축 도입 이전에 저장된 긴 게시글 ".repeat(100);
+        Long legacyId = blogPostService.addBlogPost(BlogPostDto.builder().title("legacy").content("content").tags("tags").build()).getId();
+        //압축 도입 이전 행처럼 원문을 그대로 저장한다.
+        jdbcTemplate.update("update blog_post set content = ? where id = ?", longContent, legacyId);
+        entityCacheService.evictBlogPost(legacyId);
+        blogPostRepository.findById(cachedId);
+        blogPostRepository.findById(legacyId);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        //when
+        blogPostContentRecompressor.recompress();
+
+        //then
+        String stored = jdbcTemplate.queryForObject("select content from blog_post where id = ?", String.class, legacyId);
+        assertThat(stored.charAt(0)).isEqualTo(CompressedContentConverter.MARKER);
+        assertThat(sessionFactory.getCache().containsEntity(BlogPost.class, cachedId)).isTrue();
+        assertThat(sessionFactory.getCache().containsEntity(BlogPost.class, legacyId)).isFalse();
+        assertThat(blogPostRepository.findById(legacyId).get().getContent()).isEqualTo(longContent);
+    }
+
+    private long regionHits(String region){
+        CacheDiagnosticsDto cacheDiagnosticsDto = entityCacheService.diagnose();
+        return cacheDiagnosticsDto.getRegions().stream()
+                .filter((r) -> r.getRegion().equals(region))
+                .mapToLong((r) -> r.getHits())
+                .sum();
+    }
+}
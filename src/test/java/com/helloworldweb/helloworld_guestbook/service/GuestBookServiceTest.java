@@ -2,8 +2,13 @@ package com.helloworldweb.helloworld_guestbook.service;
 
 import com.helloworldweb.helloworld_guestbook.domain.GuestBook;
 import com.helloworldweb.helloworld_guestbook.domain.GuestBookComment;
+import com.helloworldweb.helloworld_guestbook.domain.GuestBookCommentArchive;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentDto;
+import com.helloworldweb.helloworld_guestbook.dto.GuestBookCommentPageDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
+import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentArchiveRepository;
 import com.helloworldweb.helloworld_guestbook.repository.GuestBookCommentRepository;
 import com.helloworldweb.helloworld_guestbook.repository.UserRepository;
 import org.junit.Before;
@@ -13,10 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -36,6 +42,15 @@ public class GuestBookServiceTest {
     @Mock
     GuestBookCommentRepository guestBookCommentRepository;
 
+    @Mock
+    GuestBookCommentArchiveRepository guestBookCommentArchiveRepository;
+
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    RevisionService revisionService;
+
     @InjectMocks
     GuestBookServiceImpl guestBookService;
 
@@ -74,7 +89,7 @@ public class GuestBookServiceTest {
 
     @BeforeEach
     void ContextHolder등록(){
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(testUser2,"",testUser2.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(testUser2.getId(), Long.MAX_VALUE)));
     }
 
     @Test
@@ -202,6 +217,19 @@ public class GuestBookServiceTest {
         assertThrows(NoSuchElementException.class,()->guestBookService.deleteGuestBookComment(5L));
 
     }
+
+    @Test
+    void 방명록수정삭제_archive된_댓글(){
+        //given
+        when(guestBookCommentRepository.findGuestBookCommentWithUserById(any(Long.class))).thenReturn(Optional.empty());
+        when(guestBookCommentArchiveRepository.existsById(any(Long.class))).thenReturn(true);
+
+        //when
+        //then
+        assertThrows(UnsupportedOperationException.class,()->guestBookService.updateGuestBookComment(testGuestBookComment1Dto));
+        assertThrows(UnsupportedOperationException.class,()->guestBookService.deleteGuestBookComment(5L));
+    }
+
     @Test
     void 방명록삭제_작성자_요청자비일치(){
 
@@ -223,5 +251,46 @@ public class GuestBookServiceTest {
         assertThrows(IllegalCallerException.class,()->guestBookService.deleteGuestBookComment(5L));
     }
 
+    @Test
+    void 방명록댓글페이지조회_hot페이지_archive조회안함(){
+        //given
+        GuestBookComment hotComment = GuestBookComment.builder().id(7L).content("hot").user(testUser2).build();
+        when(userRepository.findGuestBookIdById(1L)).thenReturn(Optional.of(testGuestBook1.getId()));
+        when(guestBookCommentRepository.countByGuestBookId(testGuestBook1.getId())).thenReturn(5L);
+        when(guestBookCommentRepository.findAllWithUserByGuestBookId(any(Long.class), any())).thenReturn(List.of(hotComment));
+
+        //when
+        GuestBookCommentPageDto pageDto = guestBookService.getGuestBookComments(1L, PageRequest.of(0, 1));
+
+        //then
+        assertThat(pageDto.getGuestBookCommentDtos()).extracting(GuestBookCommentDto::getContent).containsExactly("hot");
+        assertThat(pageDto.getPageNum()).isEqualTo(5);
+        verifyNoInteractions(guestBookCommentArchiveRepository);
+    }
+
+    @Test
+    void 방명록댓글페이지조회_hot이후_archive이어서조회(){
+        //given
+        GuestBookComment hotComment = GuestBookComment.builder().id(7L).content("hot").user(testUser2).build();
+        GuestBookCommentArchive archivedComment = GuestBookCommentArchive.builder()
+                .id(2L)
+                .guestBookId(testGuestBook1.getId())
+                .userId(testUser2.getId())
+                .content("archived")
+                .build();
+        when(userRepository.findGuestBookIdById(1L)).thenReturn(Optional.of(testGuestBook1.getId()));
+        when(guestBookCommentRepository.countByGuestBookId(testGuestBook1.getId())).thenReturn(1L);
+        when(guestBookCommentRepository.findAllWithUserByGuestBookId(any(Long.class), any())).thenReturn(List.of(hotComment));
+        when(guestBookCommentArchiveRepository.countByGuestBookId(testGuestBook1.getId())).thenReturn(3L);
+        when(guestBookCommentArchiveRepository.findAllByGuestBookId(any(Long.class), any())).thenReturn(List.of(archivedComment));
+        when(userRepository.findAllById(any())).thenReturn(List.of(testUser2));
 
+        //when
+        GuestBookCommentPageDto pageDto = guestBookService.getGuestBookComments(1L, PageRequest.of(0, 2));
+
+        //then
+        assertThat(pageDto.getGuestBookCommentDtos()).extracting(GuestBookCommentDto::getContent).containsExactly("hot", "archived");
+        assertThat(pageDto.getGuestBookCommentDtos().get(1).getUserDto().getId()).isEqualTo(testUser2.getId());
+        assertThat(pageDto.getPageNum()).isEqualTo(2);
+    }
 }
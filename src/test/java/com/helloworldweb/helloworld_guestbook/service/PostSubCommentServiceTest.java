@@ -5,6 +5,8 @@ import com.helloworldweb.helloworld_guestbook.domain.PostSubComment;
 import com.helloworldweb.helloworld_guestbook.domain.User;
 import com.helloworldweb.helloworld_guestbook.dto.PostSubCommentDto;
 import com.helloworldweb.helloworld_guestbook.dto.UserDto;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerAuthentication;
+import com.helloworldweb.helloworld_guestbook.jwt.CallerPrincipal;
 import com.helloworldweb.helloworld_guestbook.repository.BlogPostRepository;
 import com.helloworldweb.helloworld_guestbook.repository.PostCommentRepository;
 import com.helloworldweb.helloworld_guestbook.repository.PostSubCommentRepository;
@@ -16,7 +18,6 @@ import org.mockito.AdditionalAnswers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +45,12 @@ public class PostSubCommentServiceTest {
     @Mock
     PostSubCommentRepository postSubCommentRepository;
 
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    RevisionService revisionService;
+
     @InjectMocks
     PostSubCommentServiceImpl postSubCommentService;
 
@@ -80,7 +87,7 @@ public class PostSubCommentServiceTest {
 
     @BeforeEach
     void ContextHolder등록(){
-        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(testUser2,"", testUser2.getAuthorities()));
+        SecurityContextHolder.getContext().setAuthentication(new CallerAuthentication(new CallerPrincipal(testUser2.getId(), Long.MAX_VALUE)));
     }
 
     @Test
@@ -174,6 +181,32 @@ public class PostSubCommentServiceTest {
 
     }
 
+    @Test
+    void 댓글추가_삭제된게시글(){
+        //given
+        BlogPost deletedBlogPost = BlogPost.builder()
+                .id(6L)
+                .content("deleted")
+                .title("deleted")
+                .build();
+        deletedBlogPost.markDeleted();
+        PostComment postComment = PostComment.builder()
+                .id(7L)
+                .blogPost(deletedBlogPost)
+                .build();
+        PostSubCommentDto postSubCommentDto = PostSubCommentDto.builder()
+                .postCommentId(7L)
+                .content("new subcomment123")
+                .build();
+
+        when(postCommentRepository.findPostCommentWithPostSubCommentsById(any(Long.class))).thenReturn(Optional.of(postComment));
+
+        //when
+        //then
+        assertThrows(NoSuchElementException.class,()-> postSubCommentService.addPostSubComment(postSubCommentDto));
+        verify(postSubCommentRepository, never()).save(any(PostSubComment.class));
+    }
+
     @Test
     void 댓글추가_잘못된WriterEmail(){
         //given
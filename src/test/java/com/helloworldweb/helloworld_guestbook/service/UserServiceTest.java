@@ -25,6 +25,9 @@ public class UserServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    UserDeletionService userDeletionService;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -109,4 +112,83 @@ public class UserServiceTest {
         assertThrows(NoSuchElementException.class,()->userService.updateUser(updateDto));
     }
 
+    @Test
+    void 조건부upsert_신규유저등록(){
+        //given
+        UserDto userDto = UserDto.builder()
+                .id(1L)
+                .email("email@email.com")
+                .nickName("babo")
+                .build();
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).then(AdditionalAnswers.returnsFirstArg());
+
+        //when
+        UserDto savedUserDto = userService.upsertUser(userDto, 3L);
+
+        //then
+        assertThat(savedUserDto.getNickName()).isEqualTo("babo");
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    void 조건부upsert_이전버전무시(){
+        //given
+        User user = UserDto.builder()
+                .id(1L)
+                .email("email@email.com")
+                .nickName("latest")
+                .build()
+                .toEntity();
+        user.updateEventVersion(5L);
+
+        UserDto staleDto = UserDto.builder()
+                .id(1L)
+                .email("email@email.com")
+                .nickName("stale")
+                .build();
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
+
+        //when
+        UserDto resultDto = userService.upsertUser(staleDto, 4L);
+
+        //then
+        assertThat(resultDto.getNickName()).isEqualTo("latest");
+        assertThat(user.getEventVersion()).isEqualTo(5L);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void 조건부삭제_존재하지않는UserId(){
+        //given
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+
+        //when
+        userService.deleteUser(1L, 2L);
+
+        //then
+        verify(userRepository, never()).delete(any(User.class));
+        verify(userDeletionService, never()).deleteUser(any(Long.class));
+        verify(userDeletionService, never()).deleteUser(any(Long.class), any());
+    }
+
+    @Test
+    void 조건부삭제_bulk삭제(){
+        //given
+        User user = UserDto.builder()
+                .id(1L)
+                .email("email@email.com")
+                .build()
+                .toEntity();
+        user.updateEventVersion(1L);
+        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
+
+        //when
+        userService.deleteUser(1L, 2L);
+
+        //then
+        verify(userDeletionService, times(1)).deleteUser(1L, 2L);
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
 }